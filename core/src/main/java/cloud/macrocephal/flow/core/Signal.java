@@ -1,12 +1,26 @@
 package cloud.macrocephal.flow.core;
 
-public sealed interface Signal<T> permits Signal.Error, Signal.Value, Signal.Complete {
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public sealed interface Signal<T> permits Signal.Error, Signal.Value, Signal.Batch, Signal.Complete {
     record Complete<T>() implements Signal<T> {
     }
 
     record Value<T>(T value) implements Signal<T> {
     }
 
+    /**
+     * Many values at once, delivered in order as if each was a {@link Value} of its own: demand is still honoured one
+     * value at a time, so a batch may be split across requests. {@code values} must not change once signaled.
+     */
+    record Batch<T>(List<T> values) implements Signal<T> {
+        public Batch {
+            requireNonNull(values);
+        }
+    }
+
     record Error<T>(Throwable throwable) implements Signal<T> {
     }
 }
@@ -1,9 +1,15 @@
 package cloud.macrocephal.flow.core.buffer;
 
 import cloud.macrocephal.flow.core.buffer.internal.BufferDefault;
+import cloud.macrocephal.flow.core.buffer.internal.BufferRing;
 
 import java.math.BigInteger;
 
+import static cloud.macrocephal.flow.core.buffer.internal.BufferRing.MAXIMUM_CAPACITY;
+import static java.math.BigInteger.ZERO;
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.nonNull;
+
 public interface Buffer<T> extends Iterable<T> {
     boolean contains(T value);
 
@@ -17,12 +23,16 @@ public interface Buffer<T> extends Iterable<T> {
 
     static <T> Buffer<T> from(Buffer<T> buffer) {
         //noinspection RedundantCast
-        return (Buffer<T>) BufferDefault.from(buffer);
+        return buffer instanceof BufferRing<T> bufferRing
+                ? BufferRing.from(bufferRing)
+                : (Buffer<T>) BufferDefault.from(buffer);
     }
 
     static <T> Buffer<T> of(BigInteger capacity) {
         //noinspection RedundantCast,unchecked
-        return (Buffer<T>) new BufferDefault<>(capacity);
+        return nonNull(capacity) && 0 <= valueOf(MAXIMUM_CAPACITY).compareTo(capacity)
+                ? new BufferRing<>(capacity.max(ZERO))
+                : (Buffer<T>) new BufferDefault<>(capacity);
     }
 
     static <T> Buffer<T> of() {
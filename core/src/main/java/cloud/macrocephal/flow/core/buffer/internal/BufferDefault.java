@@ -1,6 +1,7 @@
 package cloud.macrocephal.flow.core.buffer.internal;
 
 import cloud.macrocephal.flow.core.buffer.Buffer;
+import cloud.macrocephal.flow.core.internal.Counter;
 
 import java.math.BigInteger;
 import java.util.ConcurrentModificationException;
@@ -8,16 +9,17 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
-import static java.math.BigInteger.ONE;
-import static java.math.BigInteger.ZERO;
 import static java.util.Objects.*;
 import static java.util.function.Function.identity;
 
 public class BufferDefault<T> implements Buffer<T> {
     private final AtomicLong iteratorCount = new AtomicLong(0);
+    // NOTE: Not a monitor, so that virtual threads comparing values under it do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
     private final BigInteger capacity;
-    private BigInteger size = ZERO;
+    private final Counter size = new Counter();
     protected Node<T> first;
     protected Node<T> last;
 
@@ -34,65 +36,89 @@ public class BufferDefault<T> implements Buffer<T> {
     }
 
     @Override
-    synchronized public boolean contains(T value) {
-        var node = first;
+    public boolean contains(T value) {
+        lock.lock();
 
-        while (nonNull(node)){
-            if (Objects.equals(node.value, value)) {
-                return true;
+        try {
+            var node = first;
+
+            while (nonNull(node)){
+                if (Objects.equals(node.value, value)) {
+                    return true;
+                }
+
+                node = node.next;
             }
 
-            node = node.next;
+            return false;
+        } finally {
+            lock.unlock();
         }
-
-        return false;
     }
 
     @Override
-    synchronized public boolean remove(T value) {
-        final var iterator = iterator();
+    public boolean remove(T value) {
+        lock.lock();
 
-        while (iterator.hasNext()) {
-            if (Objects.equals(value, iterator.next())) {
-                iterator.remove();
-                iterator.forEachRemaining(identity()::apply);
-                return true;
+        try {
+            final var iterator = iterator();
+
+            while (iterator.hasNext()) {
+                if (Objects.equals(value, iterator.next())) {
+                    iterator.remove();
+                    iterator.forEachRemaining(identity()::apply);
+                    return true;
+                }
             }
-        }
 
-        return false;
+            return false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    synchronized public BigInteger size() {
-        return size;
+    public BigInteger size() {
+        lock.lock();
+
+        try {
+            return size.toBigInteger();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    synchronized public boolean add(T value) {
-        if (isNull(capacity) || 0 < capacity.compareTo(size)) {
-            if (1 < iteratorCount.get()) {
-                throw new ConcurrentModificationException();
-            } else if (isNull(first)) {
-                first = new Node<>(null, value, null);
-            } else if (isNull(last)) {
-                last = new Node<>(first, value, null);
-                first.next = last;
-            } else {
-                final var last = new Node<>(this.last, value, null);
-                this.last.next = last;
-                this.last = last;
-            }
+    public boolean add(T value) {
+        lock.lock();
 
-            size = size.add(ONE);
+        try {
+            if (size.compareTo(capacity) < 0) {
+                if (1 < iteratorCount.get()) {
+                    throw new ConcurrentModificationException();
+                } else if (isNull(first)) {
+                    first = new Node<>(null, value, null);
+                } else if (isNull(last)) {
+                    last = new Node<>(first, value, null);
+                    first.next = last;
+                } else {
+                    final var last = new Node<>(this.last, value, null);
+                    this.last.next = last;
+                    this.last = last;
+                }
 
-            return true;
-        } else {
-            return false;
+                size.increment();
+
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public boolean isEmpty() {
-        return ZERO.equals(size);
+        return size.isZero();
     }
 
     @Override
@@ -106,7 +132,7 @@ public class BufferDefault<T> implements Buffer<T> {
             private boolean removed;
 
             {
-                if (ZERO.equals(size)) {
+                if (size.isZero()) {
                     tryDecrement();
                 }
             }
@@ -133,10 +159,10 @@ public class BufferDefault<T> implements Buffer<T> {
                     }
 
                     if (current == last) {
-                        last = null;
+                        last = current.previous == first ? null : current.previous;
                     }
 
-                    size = size.subtract(ONE);
+                    size.decrement();
                     removed = true;
                 }
             }
@@ -175,10 +201,19 @@ public class BufferDefault<T> implements Buffer<T> {
 
     public static <T> Buffer<T> from(Buffer<T> source) {
         if (source instanceof BufferDefault<T> bufferDefault) {
-            return new BufferDefault<>(bufferDefault.capacity) {{
-                first = bufferDefault.first;
-                last = bufferDefault.last;
-            }};
+            bufferDefault.lock.lock();
+
+            try {
+                final var buffer = new BufferDefault<T>(bufferDefault.capacity);
+
+                for (var node = bufferDefault.first; nonNull(node); node = node.next) {
+                    buffer.add(node.value);
+                }
+
+                return buffer;
+            } finally {
+                bufferDefault.lock.unlock();
+            }
         } else {
             return new BufferDefault<>(source);
         }
@@ -0,0 +1,249 @@
+package cloud.macrocephal.flow.core.buffer.internal;
+
+import cloud.macrocephal.flow.core.buffer.Buffer;
+
+import java.math.BigInteger;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
+
+/**
+ * Bounded {@link Buffer} backed by a power-of-two array ring.
+ * <p>
+ * Slots are allocated lazily (doubling up to the next power of two above capacity), so that steady state
+ * {@link #add(Object)} and head removal do not allocate and run in O(1). Removal anywhere else shifts the shortest
+ * side of the ring.
+ */
+public class BufferRing<T> implements Buffer<T> {
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int MINIMUM_SLOTS = 16;
+    private final AtomicLong iteratorCount = new AtomicLong(0);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int capacity;
+    private Object[] slots;
+    private int head;
+    private int size;
+
+    public BufferRing(int capacity) {
+        if (MAXIMUM_CAPACITY < capacity) {
+            throw new IllegalArgumentException("Capacity must be <= %d. Given: %d".formatted(MAXIMUM_CAPACITY, capacity));
+        }
+
+        this.capacity = max(0, capacity);
+        this.slots = new Object[slotsFor(min(this.capacity, MINIMUM_SLOTS))];
+    }
+
+    public BufferRing(BigInteger capacity) {
+        this(requireNonNull(capacity).intValueExact());
+    }
+
+    @Override
+    public boolean contains(T value) {
+        lock.lock();
+
+        try {
+            for (int index = 0; index < size; ++index) {
+                if (Objects.equals(get(index), value)) {
+                    return true;
+                }
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(T value) {
+        lock.lock();
+
+        try {
+            final var iterator = iterator();
+
+            while (iterator.hasNext()) {
+                if (Objects.equals(value, iterator.next())) {
+                    iterator.remove();
+                    iterator.forEachRemaining(identity()::apply);
+                    return true;
+                }
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(T value) {
+        lock.lock();
+
+        try {
+            if (size < capacity) {
+                if (1 < iteratorCount.get()) {
+                    throw new ConcurrentModificationException();
+                } else if (size == slots.length) {
+                    grow();
+                }
+
+                slots[(head + size) & (slots.length - 1)] = value;
+                ++size;
+
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BigInteger size() {
+        lock.lock();
+
+        try {
+            return valueOf(size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        iteratorCount.incrementAndGet();
+
+        return new Iterator<>() {
+            private boolean decrementedIteratorCount;
+            private boolean nextMethodCalled;
+            private boolean removed;
+            private int cursor;
+
+            {
+                if (0 == size) {
+                    tryDecrement();
+                }
+            }
+
+            @Override
+            public void remove() {
+                if (1 < iteratorCount.get()) {
+                    throw new ConcurrentModificationException();
+                } else if (!nextMethodCalled) {
+                    throw new IllegalStateException("Iterator's next method has not been called yet.");
+                } else if (removed) {
+                    throw new IllegalStateException("Iterator's remove method has already been called.");
+                } else {
+                    removeAt(--cursor);
+                    removed = true;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if (hasNext()) {
+                    final var value = get(cursor++);
+                    nextMethodCalled = true;
+                    removed = false;
+
+                    if (!hasNext()) {
+                        tryDecrement();
+                    }
+
+                    return value;
+                } else {
+                    tryDecrement();
+                    throw new NoSuchElementException();
+                }
+            }
+
+            private void tryDecrement() {
+                if (!decrementedIteratorCount) {
+                    decrementedIteratorCount = true;
+                    iteratorCount.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    private T get(int index) {
+        //noinspection unchecked
+        return (T) slots[(head + index) & (slots.length - 1)];
+    }
+
+    private void removeAt(int index) {
+        final var mask = slots.length - 1;
+
+        if (index < size >> 1) {
+            for (int i = index; 0 < i; --i) {
+                slots[(head + i) & mask] = slots[(head + i - 1) & mask];
+            }
+
+            slots[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; ++i) {
+                slots[(head + i) & mask] = slots[(head + i + 1) & mask];
+            }
+
+            slots[(head + size - 1) & mask] = null;
+        }
+
+        --size;
+    }
+
+    private void grow() {
+        final var grown = new Object[slotsFor(min(capacity, slots.length << 1))];
+
+        for (int index = 0; index < size; ++index) {
+            grown[index] = get(index);
+        }
+
+        slots = grown;
+        head = 0;
+    }
+
+    private static int slotsFor(int capacity) {
+        return capacity <= 1 ? 1 : highestOneBit(capacity - 1) << 1;
+    }
+
+    public static <T> Buffer<T> from(BufferRing<T> source) {
+        source.lock.lock();
+
+        try {
+            final var buffer = new BufferRing<T>(source.capacity);
+            buffer.slots = new Object[source.slots.length];
+
+            for (int index = 0; index < source.size; ++index) {
+                buffer.slots[index] = source.get(index);
+            }
+
+            buffer.size = source.size;
+
+            return buffer;
+        } finally {
+            source.lock.unlock();
+        }
+    }
+}
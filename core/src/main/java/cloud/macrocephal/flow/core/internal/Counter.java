@@ -0,0 +1,121 @@
+package cloud.macrocephal.flow.core.internal;
+
+import java.math.BigInteger;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.Long.MIN_VALUE;
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Mutable counter that works on a primitive {@code long} and only switches to {@link BigInteger} after overflow,
+ * switching back as soon as the value fits in a {@code long} again.
+ * <p>
+ * Not thread-safe: callers are expected to confine it or guard it.
+ */
+public final class Counter {
+    private BigInteger big;
+    private long value;
+
+    public Counter() {
+    }
+
+    public Counter(long value) {
+        this.value = value;
+    }
+
+    public Counter(BigInteger value) {
+        set(value);
+    }
+
+    public Counter increment() {
+        return add(1);
+    }
+
+    public Counter decrement() {
+        return add(-1);
+    }
+
+    public Counter add(long delta) {
+        if (isNull(big)) {
+            final var sum = value + delta;
+
+            // NOTE: Hacker's Delight 2-12, overflow iff both operands have the opposite sign of the result
+            if (((value ^ sum) & (delta ^ sum)) < 0) {
+                big = valueOf(value).add(valueOf(delta));
+            } else {
+                value = sum;
+            }
+        } else {
+            set(big.add(valueOf(delta)));
+        }
+
+        return this;
+    }
+
+    public Counter add(BigInteger delta) {
+        return 64 <= requireNonNull(delta).bitLength() ? set(toBigInteger().add(delta)) : add(delta.longValue());
+    }
+
+    public Counter subtract(long delta) {
+        return MIN_VALUE == delta ? add(valueOf(delta).negate()) : add(-delta);
+    }
+
+    public Counter set(BigInteger value) {
+        if (requireNonNull(value).bitLength() < 64) {
+            this.value = value.longValue();
+            big = null;
+        } else {
+            big = value;
+        }
+
+        return this;
+    }
+
+    public boolean isZero() {
+        return isNull(big) && 0 == value;
+    }
+
+    public int signum() {
+        return nonNull(big) ? big.signum() : Long.signum(value);
+    }
+
+    public int compareTo(long other) {
+        return nonNull(big) ? big.signum() : Long.compare(value, other);
+    }
+
+    /**
+     * @param other the value to compare with, {@code null} standing for an unbounded value
+     */
+    public int compareTo(BigInteger other) {
+        if (isNull(other)) {
+            return -1;
+        } else if (isNull(big) && other.bitLength() < 64) {
+            return Long.compare(value, other.longValue());
+        } else {
+            return toBigInteger().compareTo(other);
+        }
+    }
+
+    public boolean isEqualTo(BigInteger other) {
+        return 0 == compareTo(other);
+    }
+
+    /**
+     * @return this counter value clamped to {@code [0, Long.MAX_VALUE]}
+     */
+    public long saturatedLongValue() {
+        return nonNull(big) ? 0 < big.signum() ? MAX_VALUE : 0 : Math.max(0, value);
+    }
+
+    public BigInteger toBigInteger() {
+        return nonNull(big) ? big : valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return nonNull(big) ? big.toString() : Long.toString(value);
+    }
+}
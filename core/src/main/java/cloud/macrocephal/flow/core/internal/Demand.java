@@ -0,0 +1,86 @@
+package cloud.macrocephal.flow.core.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Lock-free demand accounting: {@link Long#MAX_VALUE} stands for an unbounded demand (spec 3.17) and is never
+ * decremented.
+ */
+public final class Demand {
+    private Demand() {
+    }
+
+    /**
+     * @return the demand before {@code n} was added
+     */
+    public static long add(AtomicLong requested, long n) {
+        while (true) {
+            final var current = requested.get();
+
+            if (MAX_VALUE == current) {
+                return current;
+            }
+
+            final var next = current + n;
+
+            if (requested.compareAndSet(current, next < 0 ? MAX_VALUE : next)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * @return the demand left after {@code n} values were emitted
+     */
+    public static long produced(AtomicLong requested, long n) {
+        while (true) {
+            final var current = requested.get();
+
+            if (MAX_VALUE == current) {
+                return current;
+            } else if (requested.compareAndSet(current, current - n)) {
+                return current - n;
+            }
+        }
+    }
+
+    /**
+     * Reserve up to {@code n} units of demand.
+     *
+     * @return how many units were reserved
+     */
+    public static long tryProduce(AtomicLong requested, long n) {
+        while (true) {
+            final var current = requested.get();
+
+            if (MAX_VALUE == current) {
+                return n;
+            } else if (0 == current) {
+                return 0;
+            } else {
+                final var reserved = Math.min(current, n);
+
+                if (requested.compareAndSet(current, current - reserved)) {
+                    return reserved;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserve one unit of demand, if any.
+     */
+    public static boolean tryProduce(AtomicLong requested) {
+        while (true) {
+            final var current = requested.get();
+
+            if (0 == current) {
+                return false;
+            } else if (MAX_VALUE == current || requested.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package cloud.macrocephal.flow.core.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Work-in-progress serialization: any thread may {@link #schedule()} the loop, exactly one thread runs it at a time
+ * and it re-runs as long as schedules were missed while it was running. No lock is held while the loop runs, so it
+ * can safely call into user code that schedules it again.
+ */
+public final class Drain {
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Runnable loop;
+
+    public Drain(Runnable loop) {
+        this.loop = requireNonNull(loop);
+    }
+
+    public void schedule() {
+        if (0 == wip.getAndIncrement()) {
+            run(1);
+        }
+    }
+
+    /**
+     * Same as {@link #schedule()}, but the loop runs on {@code executor} rather than on the calling thread.
+     */
+    public void schedule(Executor executor) {
+        if (0 == wip.getAndIncrement()) {
+            try {
+                executor.execute(() -> run(1));
+            } catch (RuntimeException exception) {
+                wip.set(0);
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Claim the drain without scheduling, so that an uncontended emitter can signal in place instead of enqueuing.
+     * Callers that succeed must {@link #leave()}, which runs the loop if schedules were missed meanwhile.
+     */
+    public boolean enter() {
+        return 0 == wip.get() && wip.compareAndSet(0, 1);
+    }
+
+    public void leave() {
+        final var missed = wip.decrementAndGet();
+
+        if (0 != missed) {
+            run(missed);
+        }
+    }
+
+    private void run(int missed) {
+        try {
+            do {
+                loop.run();
+                missed = wip.addAndGet(-missed);
+            } while (0 != missed);
+        } catch (Throwable throwable) {
+            wip.set(0);
+            throw throwable;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package cloud.macrocephal.flow.core.internal;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Concurrent set of subscribers: adding, removing and duplicate detection are O(1) against a hash index, while
+ * iteration runs over an immutable snapshot, rebuilt lock-free by the first iteration after membership changed.
+ */
+public final class Registry<E> implements Iterable<E> {
+    private final Set<E> index = ConcurrentHashMap.newKeySet();
+    private volatile List<E> snapshot = List.of();
+    private volatile boolean stale;
+
+    /**
+     * @return whether {@code element} was added, which it is not if an equal one already is
+     */
+    public boolean add(E element) {
+        if (index.add(requireNonNull(element))) {
+            stale = true;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public boolean remove(E element) {
+        if (index.remove(requireNonNull(element))) {
+            stale = true;
+            // NOTE: Dropped right away rather than on the next iteration, which may never come, to not hold on to it
+            snapshot = null;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public boolean contains(E element) {
+        return index.contains(requireNonNull(element));
+    }
+
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * @return elements as of the last membership change seen, unaffected by later ones
+     */
+    public List<E> snapshot() {
+        var snapshot = this.snapshot;
+
+        if (stale || isNull(snapshot)) {
+            // NOTE: Cleared before copying, so that changes the copy may miss mark it stale again
+            stale = false;
+            this.snapshot = snapshot = List.copyOf(index);
+        }
+
+        return snapshot;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+}
@@ -0,0 +1,77 @@
+package cloud.macrocephal.flow.core.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded single-producer single-consumer queue: one thread at a time may {@link #offer(Object)} while one other
+ * thread at a time may {@link #poll()}, neither side ever waits on a lock nor retries a CAS.
+ */
+public final class SpscRing<T> {
+    private final AtomicLong consumer = new AtomicLong();
+    private final AtomicLong producer = new AtomicLong();
+    private final AtomicReferenceArray<T> slots;
+    private final int capacity;
+    private final int mask;
+
+    public SpscRing(int capacity) {
+        if (capacity <= 0 || 1 << 30 < capacity) {
+            throw new IllegalArgumentException("Capacity must be in [1, 2^30]. Given: %d".formatted(capacity));
+        }
+
+        // NOTE: A power of two length turns wrapping indexes around into a mask
+        this.slots = new AtomicReferenceArray<>(1 == capacity ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = slots.length() - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return whether {@code value} was enqueued, which it is not once {@link #capacity()} values are waiting
+     */
+    public boolean offer(T value) {
+        requireNonNull(value);
+        final var index = producer.get();
+
+        if (capacity == index - consumer.get()) {
+            return false;
+        }
+
+        slots.lazySet((int) index & mask, value);
+        // NOTE: Publishing the index after the slot makes the value visible to whoever reads that index
+        producer.lazySet(index + 1);
+        return true;
+    }
+
+    public T poll() {
+        final var index = consumer.get();
+
+        if (index == producer.get()) {
+            return null;
+        }
+
+        final var slot = (int) index & mask;
+        final var value = slots.get(slot);
+        slots.lazySet(slot, null);
+        consumer.lazySet(index + 1);
+        return value;
+    }
+
+    /**
+     * Drop every waiting value, from the consumer side.
+     */
+    public void clear() {
+        while (!isEmpty()) {
+            poll();
+        }
+    }
+
+    public boolean isEmpty() {
+        return consumer.get() == producer.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -1,12 +1,17 @@
 package cloud.macrocephal.flow.core.operator;
 
 import cloud.macrocephal.flow.core.operator.internal.*;
+import cloud.macrocephal.flow.core.publisher.Rails;
 import cloud.macrocephal.flow.core.publisher.Single;
 import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
 
 import java.math.BigInteger;
 import java.util.concurrent.Flow.Publisher;
 import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.Flow.defaultBufferSize;
 
 @FunctionalInterface
 public interface Operator<T, O extends Publisher<?>> {
@@ -32,7 +37,59 @@ public interface Operator<T, O extends Publisher<?>> {
         return new MapOperator<>(mapper);
     }
 
+    static <T> Operator<T, Swarm<T>> filter(Predicate<T> predicate) {
+        return new FilterOperator<>(predicate);
+    }
+
     static <T, U> Operator<T, Swarm<U>> flatMap(Function<T, Publisher<U>> flatMapper) {
         return new FlatMapOperator<>(flatMapper);
     }
+
+    static <T, U> Operator<T, Swarm<U>> flatMap(Function<T, Publisher<U>> flatMapper, int maxConcurrency, int prefetch) {
+        return new FlatMapOperator<>(flatMapper, maxConcurrency, prefetch);
+    }
+
+    static <T, U> Operator<T, Swarm<U>> concatMap(Function<T, Publisher<U>> mapper, int prefetch) {
+        return new ConcatMapOperator<>(mapper, prefetch);
+    }
+
+    static <T, U> Operator<T, Swarm<U>> concatMap(Function<T, Publisher<U>> mapper) {
+        return concatMap(mapper, defaultBufferSize());
+    }
+
+    static <T, U> Operator<T, Swarm<U>> switchMap(Function<T, Publisher<U>> mapper, int prefetch) {
+        return new SwitchMapOperator<>(mapper, prefetch);
+    }
+
+    static <T, U> Operator<T, Swarm<U>> switchMap(Function<T, Publisher<U>> mapper) {
+        return switchMap(mapper, defaultBufferSize());
+    }
+
+    static <T> Operator<T, Swarm<T>> subscribeOn(Scheduler scheduler) {
+        return new SubscribeOnOperator<>(scheduler);
+    }
+
+    static <T> Operator<T, Swarm<T>> publishOn(Scheduler scheduler, int prefetch) {
+        return new PublishOnOperator<>(scheduler, prefetch);
+    }
+
+    static <T> Operator<T, Swarm<T>> publishOn(Scheduler scheduler) {
+        return publishOn(scheduler, defaultBufferSize());
+    }
+
+    static <T> Operator<T, Rails<T>> parallel(int parallelism, Scheduler scheduler, int prefetch) {
+        return new ParallelOperator<>(parallelism, prefetch, scheduler);
+    }
+
+    static <T> Operator<T, Rails<T>> parallel(int parallelism, Scheduler scheduler) {
+        return parallel(parallelism, scheduler, defaultBufferSize());
+    }
+
+    static <T> Operator<T, Rails<T>> parallel(int parallelism) {
+        return parallel(parallelism, Scheduler.forkJoin());
+    }
+
+    static <T> Operator<T, Swarm<T>> sequential() {
+        return new SequentialOperator<>();
+    }
 }
@@ -0,0 +1,284 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.exception.BackPressureException;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.internal.SpscRing;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Subscribe to the publisher each value maps to one after another, so that their values come out in upstream order.
+ * Up to {@link #prefetch()} upstream values wait in a bounded queue for their turn, and the running inner publisher
+ * gets as many values requested ahead; both are requested three quarters of it again once consumed. Inner
+ * publishers take turns filling one queue, each through a subscriber of its own.
+ */
+public record ConcatMapOperator<T, U>(Function<T, Publisher<U>> mapper, int prefetch)
+        implements Operator<T, Swarm<U>> {
+    public ConcatMapOperator {
+        requireNonNull(mapper);
+
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be > 0. Given: %d".formatted(prefetch));
+        }
+    }
+
+    @Override
+    public Swarm<U> apply(Publisher<T> operand) {
+        return new Swarm<>(subscriber -> operand.subscribe(new Concat(operand, requireNonNull(subscriber))));
+    }
+
+    private final class Concat implements Subscriber<T>, Subscription {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final SpscRing<T> pending = new SpscRing<>(prefetch);
+        private final SpscRing<U> values = new SpscRing<>(prefetch);
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final int limit = prefetch - (prefetch >> 2);
+        private final Subscriber<? super U> subscriber;
+        private volatile Subscription subscription;
+        private volatile Inner inner;
+        private final Publisher<T> operand;
+        private volatile boolean upstreamCompleted;
+        private volatile boolean cancelled;
+        private volatile Throwable invalid;
+        private boolean finished;
+        private boolean active;
+        private int consumed;
+
+        private Concat(Publisher<T> operand, Subscriber<? super U> subscriber) {
+            this.subscriber = subscriber;
+            this.operand = operand;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!pending.offer(item)) {
+                subscription.cancel();
+                error.compareAndSet(null, new BackPressureException(operand, valueOf(prefetch)));
+            }
+
+            drain.schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.compareAndSet(null, throwable);
+            drain.schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamCompleted = true;
+            drain.schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (0 < n) {
+                Demand.add(requested, n);
+            } else {
+                invalid = Spec303Subscription.invalidRequest(n);
+            }
+
+            drain.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelAll();
+            drain.schedule();
+        }
+
+        private void cancelAll() {
+            ofNullable(subscription).ifPresent(Subscription::cancel);
+            ofNullable(inner).ifPresent(Inner::cancel);
+        }
+
+        private void drainLoop() {
+            while (!finished) {
+                if (cancelled) {
+                    finish();
+                } else if (nonNull(invalid)) {
+                    cancel();
+                    finish();
+                    subscriber.onError(invalid);
+                } else if (nonNull(error.get())) {
+                    cancelAll();
+                    finish();
+                    subscriber.onError(error.get());
+                } else if (active) {
+                    emit();
+
+                    // NOTE: Done is set after the last value was queued, so it has to be read before the queue
+                    if (inner.done && values.isEmpty()) {
+                        active = false;
+                    } else {
+                        return;
+                    }
+                } else {
+                    // NOTE: Upstream completion happens after its last value was queued, so it is read first
+                    final var completed = upstreamCompleted;
+                    final var next = pending.poll();
+
+                    if (nonNull(next)) {
+                        next(next);
+                    } else if (completed) {
+                        finish();
+                        subscriber.onComplete();
+                    } else {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void next(T item) {
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+
+            final Publisher<U> applied;
+
+            try {
+                applied = requireNonNull(mapper().apply(item));
+            } catch (Throwable throwable) {
+                error.compareAndSet(null, throwable);
+                return;
+            }
+
+            // NOTE: A subscriber is only ever subscribed once, so each inner publisher gets its own
+            final var next = new Inner(applied);
+            active = true;
+            inner = next;
+            applied.subscribe(next);
+        }
+
+        private void emit() {
+            final var requested = this.requested.get();
+            var emitted = 0L;
+
+            while (emitted != requested && !cancelled) {
+                final var next = values.poll();
+
+                if (isNull(next)) {
+                    break;
+                }
+
+                subscriber.onNext(next);
+                inner.consumed();
+                ++emitted;
+            }
+
+            Demand.produced(this.requested, emitted);
+        }
+
+        private void finish() {
+            finished = true;
+            pending.clear();
+            values.clear();
+        }
+
+        private final class Inner implements Subscriber<U> {
+            private final Publisher<U> publisher;
+            private volatile Subscription subscription;
+            private volatile boolean done;
+            private int consumed;
+
+            private Inner(Publisher<U> publisher) {
+                this.publisher = publisher;
+            }
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+
+                if (cancelled) {
+                    subscription.cancel();
+                } else {
+                    subscription.request(prefetch);
+                }
+            }
+
+            @Override
+            public void onNext(U item) {
+                if (drain.enter()) {
+                    try {
+                        // NOTE: With demand and nothing queued ahead, the value needs no hop through the queue
+                        if (!finished && values.isEmpty() && 0 < requested.get()) {
+                            subscriber.onNext(item);
+                            Demand.produced(requested, 1);
+                            consumed();
+                        } else {
+                            enqueue(item);
+                            drainLoop();
+                        }
+                    } finally {
+                        drain.leave();
+                    }
+                } else {
+                    enqueue(item);
+                    drain.schedule();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.compareAndSet(null, throwable);
+                drain.schedule();
+            }
+
+            @Override
+            public void onComplete() {
+                done = true;
+                drain.schedule();
+            }
+
+            private void enqueue(U item) {
+                if (!values.offer(item)) {
+                    cancel();
+                    onError(new BackPressureException(publisher, valueOf(prefetch)));
+                }
+            }
+
+            private void consumed() {
+                if (++consumed == limit) {
+                    consumed = 0;
+                    subscription.request(limit);
+                }
+            }
+
+            private void cancel() {
+                ofNullable(subscription).ifPresent(Subscription::cancel);
+            }
+        }
+    }
+}
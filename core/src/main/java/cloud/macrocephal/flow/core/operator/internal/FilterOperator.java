@@ -0,0 +1,28 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keep values matching {@link #predicate()}, each one dropped is requested again from upstream.
+ */
+public record FilterOperator<T>(Predicate<T> predicate) implements FusibleOperator<T, T, Swarm<T>> {
+    public FilterOperator {
+        requireNonNull(predicate);
+    }
+
+    @Override
+    public Swarm<T> wrap(Publisher<T> fused) {
+        return new Swarm<>(fused);
+    }
+
+    @Override
+    public Swarm<T> wrap(PublisherStrategy<T> pushedDown) {
+        return new Swarm<>(pushedDown);
+    }
+}
@@ -1,124 +1,334 @@
 package cloud.macrocephal.flow.core.operator.internal;
 
-import cloud.macrocephal.flow.core.buffer.Buffer;
+import cloud.macrocephal.flow.core.exception.BackPressureException;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.internal.SpscRing;
 import cloud.macrocephal.flow.core.operator.Operator;
 import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
-import static java.util.function.Function.identity;
+import static java.lang.Long.MAX_VALUE;
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.Flow.defaultBufferSize;
+
+/**
+ * Subscribe to the publisher each value maps to, up to {@link #maxConcurrency()} at a time, and merge their values
+ * as they come. Each inner publisher gets {@link #prefetch()} values requested ahead into its own bounded queue, then
+ * three quarters of it again once delivered downstream; upstream gets one more value requested as each completes.
+ */
+public record FlatMapOperator<T, U>(Function<T, Publisher<U>> flatMapper, int maxConcurrency, int prefetch)
+        implements Operator<T, Swarm<U>> {
+    public FlatMapOperator {
+        requireNonNull(flatMapper);
+
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be > 0. Given: %d".formatted(maxConcurrency));
+        } else if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be > 0. Given: %d".formatted(prefetch));
+        }
+    }
+
+    public FlatMapOperator(Function<T, Publisher<U>> flatMapper) {
+        this(flatMapper, defaultBufferSize(), defaultBufferSize());
+    }
 
-public record FlatMapOperator<T, U>(Function<T, Publisher<U>> flatMapper) implements Operator<T, Swarm<U>> {
     @Override
     public Swarm<U> apply(Publisher<T> operand) {
-        return new Swarm<>(subscriber -> operand.subscribe(new Subscriber<>() {
-            private final Buffer<Subscription> subscriptions = Buffer.of();
-            private final Subscriber<? super T> root = this;
-            private long rememberBackpressureRequest;
-            private Subscription subscription;
-            private boolean upstreamCompleted;
+        return new Swarm<>(subscriber -> operand.subscribe(new Merge(requireNonNull(subscriber))));
+    }
 
-            @Override
-            public void onSubscribe(Subscription subscription) {
-                this.subscription = subscription;
-                // NOTE: Decorate subscription to intercept cancel and request calls
-                subscriber.onSubscribe(new Subscription() {
-                    @Override
-                    public void request(long n) {
-                        synchronized (root) {
-                            rememberBackpressureRequest = n;
-
-                            if (!subscriptions.isEmpty()) {
-                                final var iterator = subscriptions.iterator();
-                                final var next = iterator.next();
-                                iterator.forEachRemaining(identity()::apply);
-                                next.request(n);
-                            } else if (!upstreamCompleted) {
-                                subscription.request(n);
-                            }
-                        }
+    /**
+     * Inners subscribed to are handed to the drain through {@link #arrivals}: only the drain touches {@link #inners},
+     * where each knows its own index, so that it is removed in constant time once done.
+     */
+    private final class Merge implements Subscriber<T>, Subscription {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final Queue<Inner> arrivals = new ConcurrentLinkedQueue<>();
+        private final List<Inner> inners = new ArrayList<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final Subscriber<? super U> subscriber;
+        private volatile Subscription subscription;
+        private volatile boolean upstreamCompleted;
+        private volatile boolean cancelled;
+        private volatile Throwable invalid;
+        private boolean finished;
+        private int cursor;
+
+        private Merge(Subscriber<? super U> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Integer.MAX_VALUE == maxConcurrency ? MAX_VALUE : maxConcurrency);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+
+            final Publisher<U> applied;
+
+            try {
+                applied = requireNonNull(flatMapper().apply(item));
+            } catch (Throwable throwable) {
+                subscription.cancel();
+                onError(throwable);
+                return;
+            }
+
+            final var inner = new Inner(applied);
+            arrivals.offer(inner);
+            applied.subscribe(inner);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.compareAndSet(null, throwable);
+            upstreamCompleted = true;
+            drain.schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamCompleted = true;
+            drain.schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (0 < n) {
+                Demand.add(requested, n);
+            } else {
+                invalid = Spec303Subscription.invalidRequest(n);
+            }
+
+            drain.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            ofNullable(subscription).ifPresent(Subscription::cancel);
+            drain.schedule();
+        }
+
+        private void cancelAll() {
+            ofNullable(subscription).ifPresent(Subscription::cancel);
+            admit();
+
+            for (final var inner : inners) {
+                inner.cancel();
+            }
+        }
+
+        private void admit() {
+            Inner arrival;
+
+            while (nonNull(arrival = arrivals.poll())) {
+                arrival.index = inners.size();
+                inners.add(arrival);
+            }
+        }
+
+        private void drainLoop() {
+            if (finished) {
+                return;
+            } else if (cancelled) {
+                cancelAll();
+                finish();
+                return;
+            } else if (nonNull(invalid)) {
+                cancelled = true;
+                cancelAll();
+                finish();
+                subscriber.onError(invalid);
+                return;
+            }
+
+            // NOTE: Upstream completion happens after every inner was offered, so it has to be read before them
+            final var upstreamCompleted = this.upstreamCompleted;
+            final var requested = this.requested.get();
+            var emitted = 0L;
+            var progress = true;
+            admit();
+
+            // NOTE: Inners take turns, so that a fast one cannot starve the others
+            while (progress && emitted != requested && !cancelled && isNull(error.get())) {
+                progress = false;
+
+                for (int step = 0; step < inners.size() && emitted != requested && !cancelled; ++step) {
+                    cursor = cursor < inners.size() - 1 ? cursor + 1 : 0;
+                    final var inner = inners.get(cursor);
+                    final var next = inner.queue.poll();
+
+                    if (nonNull(next)) {
+                        subscriber.onNext(next);
+                        inner.consumed();
+                        progress = true;
+                        ++emitted;
                     }
+                }
+            }
 
-                    @Override
-                    public void cancel() {
-                        synchronized (root) {
-                            subscription.cancel();
-                            final var iterator = subscriptions.iterator();
-                            iterator.forEachRemaining(subscription -> {
-                                subscription.cancel();
-                                iterator.remove();
-                            });
-                        }
+            Demand.produced(this.requested, emitted);
+
+            if (nonNull(error.get())) {
+                cancelled = true;
+                cancelAll();
+                finish();
+                subscriber.onError(error.get());
+            } else if (!cancelled) {
+                var completed = 0;
+
+                // NOTE: Backwards, as removing one moves the last inner, already visited, in its place
+                for (int index = inners.size() - 1; 0 <= index; --index) {
+                    final var inner = inners.get(index);
+
+                    // NOTE: Done is set after the last value was queued, so it has to be read before the queue
+                    if (inner.done && inner.queue.isEmpty()) {
+                        remove(inner);
+                        ++completed;
                     }
-                });
+                }
+
+                if (upstreamCompleted && inners.isEmpty()) {
+                    finish();
+                    subscriber.onComplete();
+                } else if (0 < completed && !upstreamCompleted) {
+                    subscription.request(completed);
+                }
+            }
+        }
+
+        private void remove(Inner inner) {
+            final var last = inners.removeLast();
+
+            if (inner != last) {
+                inners.set(inner.index, last);
+                last.index = inner.index;
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            admit();
+
+            for (final var inner : inners) {
+                inner.queue.clear();
+            }
+
+            inners.clear();
+        }
+
+        private final class Inner implements Subscriber<U> {
+            private final SpscRing<U> queue = new SpscRing<>(prefetch);
+            private final int limit = prefetch - (prefetch >> 2);
+            private volatile Subscription subscription;
+            private final Publisher<U> publisher;
+            private volatile boolean cancelled;
+            private volatile boolean done;
+            private int consumed;
+            private int index;
+
+            private Inner(Publisher<U> publisher) {
+                this.publisher = publisher;
             }
 
             @Override
-            synchronized public void onError(Throwable throwable) {
-                final var iterator = subscriptions.iterator();
-                iterator.forEachRemaining(subscription -> {
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+
+                if (cancelled || Merge.this.cancelled) {
                     subscription.cancel();
-                    iterator.remove();
-                });
-                subscriber.onError(throwable);
+                } else {
+                    subscription.request(prefetch);
+                }
             }
 
             @Override
-            synchronized public void onNext(T item) {
-                final Publisher<U> applied;
-                try {
-                    applied = flatMapper().apply(item);
-                } catch (Throwable throwable) {
-                    onError(throwable);
+            public void onNext(U item) {
+                if (done) {
                     return;
                 }
 
-                applied.subscribe(new Subscriber<>() {
-                    private Subscription lowLevelsubscription;
-
-                    @Override
-                    public void onSubscribe(Subscription subscription) {
-                        synchronized (root) {
-                            subscriptions.add(lowLevelsubscription = subscription);
-                            subscription.request(rememberBackpressureRequest);
+                if (drain.enter()) {
+                    try {
+                        // NOTE: With demand and nothing queued ahead, the value needs no hop through the queue
+                        if (!finished && queue.isEmpty() && 0 < requested.get()) {
+                            subscriber.onNext(item);
+                            Demand.produced(requested, 1);
+                            consumed();
+                        } else {
+                            enqueue(item);
+                            drainLoop();
                         }
+                    } finally {
+                        drain.leave();
                     }
+                } else {
+                    enqueue(item);
+                    drain.schedule();
+                }
+            }
 
-                    @Override
-                    public void onNext(U item) {
-                        subscriber.onNext(item);
-                    }
-
-                    @Override
-                    public void onError(Throwable throwable) {
-                        subscription.cancel();
-                        root.onError(throwable);
-                    }
+            @Override
+            public void onError(Throwable throwable) {
+                error.compareAndSet(null, throwable);
+                done = true;
+                drain.schedule();
+            }
 
-                    @Override
-                    public void onComplete() {
-                        synchronized (root) {
-                            subscriptions.remove(lowLevelsubscription);
+            @Override
+            public void onComplete() {
+                done = true;
+                drain.schedule();
+            }
 
-                            if (subscriptions.isEmpty() && upstreamCompleted) {
-                                subscriber.onComplete();
-                            }
-                        }
-                    }
-                });
+            private void enqueue(U item) {
+                if (!queue.offer(item)) {
+                    cancel();
+                    onError(new BackPressureException(publisher, valueOf(prefetch)));
+                }
             }
 
-            @Override
-            synchronized public void onComplete() {
-                if (subscriptions.isEmpty()) {
-                    subscriber.onComplete();
+            private void consumed() {
+                if (++consumed == limit) {
+                    consumed = 0;
+                    subscription.request(limit);
                 }
+            }
 
-                upstreamCompleted = true;
+            private void cancel() {
+                cancelled = true;
+                ofNullable(subscription).ifPresent(Subscription::cancel);
             }
-        }));
+        }
     }
 }
@@ -0,0 +1,164 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.internal.Counter;
+
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.math.BigInteger.ZERO;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link #source()} piped through {@link #operators()}, with one subscriber applying them all to each value in turn,
+ * instead of one subscriber and one hop per operator.
+ */
+public record FusedPublisher<S, T>(Publisher<S> source, List<FusibleOperator<?, ?, ?>> operators)
+        implements Publisher<T> {
+    private static final String NULL_MAPPED = "Mapper returned null.";
+
+    public FusedPublisher {
+        operators = List.copyOf(operators);
+        requireNonNull(source);
+    }
+
+    public static <T, U> Publisher<U> of(Publisher<T> operand, FusibleOperator<T, U, ?> operator) {
+        requireNonNull(operator);
+
+        if (operand instanceof FusedPublisher<?, T> fused) {
+            return fused.then(operator);
+        } else {
+            return new FusedPublisher<>(operand, List.of(operator));
+        }
+    }
+
+    private <U> FusedPublisher<S, U> then(FusibleOperator<T, U, ?> operator) {
+        return new FusedPublisher<>(source, Stream.concat(operators.stream(), Stream.of(operator)).toList());
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new FusedSubscriber(requireNonNull(subscriber)));
+    }
+
+    private final class FusedSubscriber implements Subscriber<S> {
+        private final FusibleOperator<?, ?, ?>[] steps = operators.toArray(FusibleOperator<?, ?, ?>[]::new);
+        private final Counter[] counters = new Counter[steps.length];
+        private final Subscriber<? super T> subscriber;
+        private Subscription subscription;
+        private boolean done;
+
+        private FusedSubscriber(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+
+            for (int index = 0; index < steps.length; ++index) {
+                if (steps[index] instanceof LimitOperator<?> || steps[index] instanceof NthOperator<?>) {
+                    counters[index] = new Counter();
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(subscription);
+
+            // NOTE: No value ever gets past a zero limit, so there is nothing to wait for
+            for (final var step : steps) {
+                if (!done && step instanceof LimitOperator<?>(final var count) && 0 == count.signum()) {
+                    complete();
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(S item) {
+            if (done) {
+                return;
+            }
+
+            Object value = item;
+            var last = false;
+
+            for (int index = 0; index < steps.length; ++index) {
+                try {
+                    switch (steps[index]) {
+                        case MapOperator<?, ?>(final var mapper) ->
+                                value = requireNonNull(((Function<Object, ?>) mapper).apply(value), NULL_MAPPED);
+                        case FilterOperator<?>(final var predicate) -> {
+                            if (!((Predicate<Object>) predicate).test(value)) {
+                                skip(last);
+                                return;
+                            }
+                        }
+                        case LimitOperator<?>(final var count) -> {
+                            if (0 <= counters[index].compareTo(count)) {
+                                return;
+                            }
+
+                            last |= counters[index].increment().isEqualTo(count);
+                        }
+                        case NthOperator<?>(final var nth) -> {
+                            if (!counters[index].increment().isEqualTo(nth)) {
+                                skip(last);
+                                return;
+                            }
+
+                            last = true;
+                        }
+                    }
+                } catch (Throwable throwable) {
+                    done = true;
+                    subscription.cancel();
+                    subscriber.onError(throwable);
+                    return;
+                }
+            }
+
+            subscriber.onNext((T) value);
+
+            if (last) {
+                complete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                subscriber.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        /**
+         * A step dropped the current value: ask for another in its place, unless an earlier step had it be the last.
+         */
+        private void skip(boolean last) {
+            if (last) {
+                complete();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        private void complete() {
+            done = true;
+            // NOTE: Cancelled publishers stop signalling, so completion is ours to signal
+            subscription.cancel();
+            subscriber.onComplete();
+        }
+    }
+}
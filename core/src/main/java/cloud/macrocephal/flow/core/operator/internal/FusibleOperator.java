@@ -0,0 +1,28 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+
+import java.util.concurrent.Flow.Publisher;
+
+/**
+ * Operators that need no subscriber of their own: applied right after one another, they run as steps of a single
+ * {@link FusedPublisher} stage.
+ */
+public sealed interface FusibleOperator<T, U, O extends Publisher<U>> extends Operator<T, O>
+        permits FilterOperator, LimitOperator, MapOperator, NthOperator {
+    @Override
+    default O apply(Publisher<T> operand) {
+        return wrap(FusedPublisher.of(operand, this));
+    }
+
+    /**
+     * Wrap {@code fused}, the stage this operator was fused into as its last step.
+     */
+    O wrap(Publisher<U> fused);
+
+    /**
+     * Wrap {@code pushedDown}, the pull source this operator was pushed down into.
+     */
+    O wrap(PublisherStrategy<U> pushedDown);
+}
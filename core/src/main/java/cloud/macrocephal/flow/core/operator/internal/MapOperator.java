@@ -1,27 +1,25 @@
 package cloud.macrocephal.flow.core.operator.internal;
 
-import cloud.macrocephal.flow.core.operator.Operator;
 import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
 
 import java.util.concurrent.Flow.Publisher;
 import java.util.function.Function;
 
-public record MapOperator<T, U>(Function<T, U> mapper) implements Operator<T, Swarm<U>> {
-    @Override
-    public Swarm<U> apply(Publisher<T> operand) {
-        return new Swarm<>(subscriber ->
-                operand.subscribe(new SpySubscriber<T, U>((next, subscription) -> {
-                    final U applied;
+import static java.util.Objects.requireNonNull;
+
+public record MapOperator<T, U>(Function<T, U> mapper) implements FusibleOperator<T, U, Swarm<U>> {
+    public MapOperator {
+        requireNonNull(mapper);
+    }
 
-                    try {
-                        applied = mapper().apply(next);
-                    } catch (Throwable throwable) {
-                        subscriber.onError(throwable);
-                        subscription.cancel();
-                        return;
-                    }
+    @Override
+    public Swarm<U> wrap(Publisher<U> fused) {
+        return new Swarm<>(fused);
+    }
 
-                    subscriber.onNext(applied);
-                }, subscriber)));
+    @Override
+    public Swarm<U> wrap(PublisherStrategy<U> pushedDown) {
+        return new Swarm<>(pushedDown);
     }
 }
@@ -0,0 +1,280 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Rails;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Split the operand round-robin into {@link #parallelism()} rails. The operand is subscribed once every rail has a
+ * subscriber; each rail hands values off through its own queue, skipping rails that already hold {@link #prefetch()}
+ * values, and signals on {@link #scheduler()}.
+ */
+public record ParallelOperator<T>(int parallelism, int prefetch, Scheduler scheduler)
+        implements Operator<T, Rails<T>> {
+    public ParallelOperator {
+        requireNonNull(scheduler);
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be > 0. Given: %d".formatted(parallelism));
+        } else if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be > 0. Given: %d".formatted(prefetch));
+        }
+    }
+
+    @Override
+    public Rails<T> apply(Publisher<T> operand) {
+        final var current = new AtomicReference<>(new Split(operand));
+        return new Rails<>(IntStream.range(0, parallelism).<Publisher<T>>mapToObj(index -> subscriber -> {
+            requireNonNull(subscriber);
+
+            // NOTE: Once every rail of a split is taken, subscribing again starts another split of the operand
+            while (true) {
+                final var split = current.get();
+
+                if (split.attach(index, subscriber)) {
+                    return;
+                }
+
+                current.compareAndSet(split, new Split(operand));
+            }
+        }).toList());
+    }
+
+    private final class Split implements Subscriber<T> {
+        private final AtomicReferenceArray<Rail> rails = new AtomicReferenceArray<>(parallelism);
+        private final long budget = (long) prefetch * parallelism;
+        private final long limit = budget - (budget >> 2);
+        private final AtomicInteger attached = new AtomicInteger();
+        private final Drain requester = new Drain(this::requestLoop);
+        private final AtomicLong replenish = new AtomicLong();
+        private final AtomicLong consumed = new AtomicLong();
+        private volatile Subscription subscription;
+        private final Publisher<T> operand;
+        private volatile Throwable error;
+        private volatile boolean done;
+        private boolean released;
+        private int next;
+
+        private Split(Publisher<T> operand) {
+            this.operand = operand;
+        }
+
+        private boolean attach(int index, Subscriber<? super T> subscriber) {
+            final var rail = new Rail(subscriber);
+
+            if (rails.compareAndSet(index, null, rail)) {
+                subscriber.onSubscribe(rail);
+
+                if (parallelism == attached.incrementAndGet()) {
+                    operand.subscribe(this);
+                }
+
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            Demand.add(replenish, budget);
+            requester.schedule();
+        }
+
+        @Override
+        public void onNext(T item) {
+            Rail target = null;
+
+            for (int offset = 0; offset < parallelism && isNull(target); ++offset) {
+                final var rail = rails.get((next + offset) % parallelism);
+
+                if (!rail.cancelled && rail.size.get() < prefetch) {
+                    next = (next + offset + 1) % parallelism;
+                    target = rail;
+                }
+            }
+
+            // NOTE: Cancelled rails no longer take their share, the least loaded one does
+            if (isNull(target)) {
+                for (int index = 0; index < parallelism; ++index) {
+                    final var rail = rails.get(index);
+
+                    if (!rail.cancelled && (isNull(target) || rail.size.get() < target.size.get())) {
+                        target = rail;
+                    }
+                }
+            }
+
+            if (nonNull(target)) {
+                target.offer(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminate();
+        }
+
+        @Override
+        public void onComplete() {
+            terminate();
+        }
+
+        private void terminate() {
+            done = true;
+
+            for (int index = 0; index < parallelism; ++index) {
+                rails.get(index).drain.schedule(scheduler);
+            }
+        }
+
+        private void consumed() {
+            if (0 == consumed.incrementAndGet() % limit) {
+                Demand.add(replenish, limit);
+                requester.schedule();
+            }
+        }
+
+        private void cancelled() {
+            if (isCancelled()) {
+                requester.schedule();
+            }
+        }
+
+        /**
+         * Rails replenish and cancel from their own drains, on {@link #scheduler()}: only this loop signals the operand's
+         * subscription, so that those signals are never concurrent.
+         */
+        private void requestLoop() {
+            final var subscription = this.subscription;
+
+            if (isNull(subscription) || released) {
+                return;
+            } else if (isCancelled()) {
+                released = true;
+                subscription.cancel();
+            } else {
+                final var n = replenish.getAndSet(0);
+
+                if (0 < n) {
+                    subscription.request(n);
+                }
+            }
+        }
+
+        private boolean isCancelled() {
+            for (int index = 0; index < parallelism; ++index) {
+                final var rail = rails.get(index);
+
+                if (isNull(rail) || !rail.cancelled) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private final class Rail implements Subscription {
+            private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+            private final AtomicLong requested = new AtomicLong();
+            private final Drain drain = new Drain(this::drainLoop);
+            private final AtomicInteger size = new AtomicInteger();
+            private volatile boolean cancelled;
+            private Subscriber<? super T> subscriber;
+            private volatile Throwable invalid;
+
+            private Rail(Subscriber<? super T> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            private void offer(T item) {
+                queue.offer(item);
+                size.incrementAndGet();
+                drain.schedule(scheduler);
+            }
+
+            @Override
+            public void request(long n) {
+                if (0 < n) {
+                    Demand.add(requested, n);
+                } else {
+                    invalid = Spec303Subscription.invalidRequest(n);
+                }
+
+                drain.schedule(scheduler);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                Split.this.cancelled();
+                drain.schedule(scheduler);
+            }
+
+            private void drainLoop() {
+                if (!cancelled && nonNull(invalid)) {
+                    cancel();
+                    subscriber.onError(invalid);
+                }
+
+                final var requested = this.requested.get();
+                var emitted = 0L;
+
+                while (!cancelled && emitted != requested) {
+                    final var next = queue.poll();
+
+                    if (isNull(next)) {
+                        break;
+                    }
+
+                    size.decrementAndGet();
+                    subscriber.onNext(next);
+                    consumed();
+                    ++emitted;
+                }
+
+                Demand.produced(this.requested, emitted);
+
+                if (!cancelled && done && (nonNull(error) || queue.isEmpty())) {
+                    cancelled = true;
+
+                    if (nonNull(error)) {
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+
+                if (cancelled) {
+                    subscriber = null;
+
+                    // NOTE: Values dropped with a cancelled rail still give their room back upstream
+                    for (var dropped = queue.poll(); nonNull(dropped); dropped = queue.poll()) {
+                        size.decrementAndGet();
+                        consumed();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.exception.BackPressureException;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.internal.SpscRing;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Signal downstream on {@link #scheduler()}. Up to {@link #prefetch()} values are requested ahead and handed off
+ * through a ring of that size; once three quarters of it were delivered, that many values are requested again.
+ */
+public record PublishOnOperator<T>(Scheduler scheduler, int prefetch) implements Operator<T, Swarm<T>> {
+    public PublishOnOperator {
+        requireNonNull(scheduler);
+
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be > 0. Given: %d".formatted(prefetch));
+        }
+    }
+
+    @Override
+    public Swarm<T> apply(Publisher<T> operand) {
+        return new Swarm<>(subscriber -> operand.subscribe(new Subscriber<T>() {
+            private final int limit = prefetch - (prefetch >> 2);
+            // NOTE: Upstream is the only producer and the drain the only consumer, neither needs a lock
+            private final SpscRing<T> queue = new SpscRing<>(prefetch);
+            private final AtomicLong requested = new AtomicLong();
+            private final Drain drain = new Drain(this::drainLoop);
+            private volatile Subscription subscription;
+            private volatile Throwable invalid;
+            private volatile boolean finished;
+            private volatile Throwable error;
+            private volatile boolean done;
+            private int consumed;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        if (0 < n) {
+                            Demand.add(requested, n);
+                        } else {
+                            invalid = Spec303Subscription.invalidRequest(n);
+                        }
+
+                        drain.schedule(scheduler);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        finished = true;
+                        subscription.cancel();
+                        drain.schedule(scheduler);
+                    }
+                });
+                subscription.request(prefetch);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (!done) {
+                    if (!queue.offer(item)) {
+                        subscription.cancel();
+                        error = new BackPressureException(operand, valueOf(prefetch));
+                        done = true;
+                    }
+
+                    drain.schedule(scheduler);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (!done) {
+                    error = throwable;
+                    done = true;
+                    drain.schedule(scheduler);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    drain.schedule(scheduler);
+                }
+            }
+
+            private void drainLoop() {
+                if (!finished && nonNull(invalid)) {
+                    finished = true;
+                    subscription.cancel();
+                    subscriber.onError(invalid);
+                }
+
+                final var requested = this.requested.get();
+                var emitted = 0L;
+
+                while (!finished && emitted != requested) {
+                    final var next = queue.poll();
+
+                    if (isNull(next)) {
+                        break;
+                    }
+
+                    subscriber.onNext(next);
+                    ++emitted;
+
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        subscription.request(limit);
+                    }
+                }
+
+                Demand.produced(this.requested, emitted);
+
+                // NOTE: Errors do not wait for demand, completion waits for every queued value to be delivered
+                if (!finished && done && (nonNull(error) || queue.isEmpty())) {
+                    finished = true;
+
+                    if (nonNull(error)) {
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+
+                if (finished) {
+                    queue.clear();
+                }
+            }
+        }));
+    }
+}
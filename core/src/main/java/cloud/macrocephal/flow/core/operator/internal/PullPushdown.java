@@ -0,0 +1,174 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.Signal.Batch;
+import cloud.macrocephal.flow.core.Signal.Complete;
+import cloud.macrocephal.flow.core.Signal.Error;
+import cloud.macrocephal.flow.core.Signal.Value;
+import cloud.macrocephal.flow.core.internal.Counter;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Push fusible operators down into a unicast {@link Pull} source, as operations on the {@link Stream} its puller
+ * returns. {@code limit} and {@code nth} also shrink the demand handed to the puller, so that values they would discard
+ * are never computed in the first place.
+ */
+public final class PullPushdown {
+    private static final String NULL_MAPPED = "Mapper returned null.";
+
+    private PullPushdown() {
+    }
+
+    /**
+     * @return a {@link Pull} with the same capacity and lag strategy as {@code pull}, whose pullers have
+     * {@code operator} applied, or nothing if {@code pull} is multicast or {@code operator} changes how many values a
+     * request yields in ways the puller contract cannot express
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U> Optional<Pull<U>> of(Pull<T> pull, FusibleOperator<T, U, ?> operator) {
+        requireNonNull(pull);
+
+        // NOTE: A multicast source is observed, not forked: a derived one would have its own puller and shared counters
+        if (isNull(pull.capacity()) || 0 < pull.capacity().signum()) {
+            return Optional.empty();
+        }
+
+        return switch (requireNonNull(operator)) {
+            case MapOperator<?, ?>(final var mapper) -> Optional.of(derive(pull, puller ->
+                    map(puller, (Function<T, U>) mapper)));
+            case LimitOperator<?>(final var count) -> Optional.of((Pull<U>) derive(pull, puller ->
+                    limit(puller, count)));
+            case NthOperator<?>(final var nth) when 0 < nth.signum() -> Optional.of((Pull<U>) derive(pull, puller ->
+                    nth(puller, nth)));
+            case NthOperator<?> ignored -> Optional.empty();
+            // NOTE: A puller returning fewer values than asked is deemed exhausted until the next request
+            case FilterOperator<?> ignored -> Optional.empty();
+        };
+    }
+
+    private static <T, U> Pull<U> derive(Pull<T> pull,
+                                         Function<LongFunction<Stream<Signal<T>>>, LongFunction<Stream<Signal<U>>>> op) {
+        final var pullerFactory = pull.pullerFactory();
+        return new Pull<>(pull.capacity(), pull.lagStrategy(), pull.prefetch(), pull.replay(),
+                () -> op.apply(requireNonNull(pullerFactory.get())));
+    }
+
+    private static <T, U> LongFunction<Stream<Signal<U>>> map(LongFunction<Stream<Signal<T>>> puller,
+                                                              Function<T, U> mapper) {
+        return n -> requireNonNull(puller.apply(n)).mapMulti((signal, downstream) -> {
+            switch (signal) {
+                case Value<T>(final var value) -> {
+                    try {
+                        downstream.accept(new Value<>(requireNonNull(mapper.apply(value), NULL_MAPPED)));
+                    } catch (Throwable throwable) {
+                        downstream.accept(new Error<>(throwable));
+                    }
+                }
+                case Batch<T>(final var values) -> {
+                    final var mapped = new ArrayList<U>(values.size());
+
+                    try {
+                        for (final var value : values) {
+                            mapped.add(requireNonNull(mapper.apply(value), NULL_MAPPED));
+                        }
+                    } catch (Throwable throwable) {
+                        // NOTE: Values mapped before the failure still go through, as they would one at a time
+                        downstream.accept(new Batch<>(mapped));
+                        downstream.accept(new Error<>(throwable));
+                        return;
+                    }
+
+                    downstream.accept(new Batch<>(mapped));
+                }
+                case Error<T>(final var throwable) -> downstream.accept(new Error<>(throwable));
+                case Complete<T>() -> downstream.accept(new Complete<>());
+            }
+        });
+    }
+
+    private static <T> LongFunction<Stream<Signal<T>>> limit(LongFunction<Stream<Signal<T>>> puller,
+                                                             BigInteger count) {
+        final var remaining = new Counter(count);
+        final UnaryOperator<Stream<Signal<T>>> completing = signals -> Stream.concat(signals,
+                Stream.<Signal<T>>of(new Complete<>()).filter(ignored -> remaining.isZero()));
+
+        return n -> {
+            if (remaining.isZero()) {
+                return Stream.of(new Complete<>());
+            }
+
+            final var batch = remaining.compareTo(n) < 0 ? remaining.saturatedLongValue() : n;
+            return completing.apply(requireNonNull(puller.apply(batch))
+                    .takeWhile(ignored -> !remaining.isZero())
+                    .map(signal -> switch (signal) {
+                        case Value<T> value -> {
+                            remaining.decrement();
+                            yield value;
+                        }
+                        case Batch<T>(final var values) when remaining.compareTo(values.size()) < 0 -> {
+                            final var taken = values.subList(0, (int) remaining.saturatedLongValue());
+                            remaining.subtract(taken.size());
+                            yield new Batch<>(taken);
+                        }
+                        case Batch<T>(final var values) -> {
+                            remaining.subtract(values.size());
+                            yield signal;
+                        }
+                        case Error<T> error -> error;
+                        case Complete<T> complete -> complete;
+                    }));
+        };
+    }
+
+    private static <T> LongFunction<Stream<Signal<T>>> nth(LongFunction<Stream<Signal<T>>> puller, BigInteger nth) {
+        final var remaining = new Counter(nth);
+
+        // NOTE: Skipped values yield nothing, so batches are pulled until one holds the nth value or comes back empty
+        return ignored -> {
+            while (!remaining.isZero()) {
+                final var iterator = requireNonNull(puller.apply(remaining.saturatedLongValue())).iterator();
+
+                if (!iterator.hasNext()) {
+                    return Stream.empty();
+                }
+
+                while (iterator.hasNext()) {
+                    switch (requireNonNull(iterator.next())) {
+                        case Value<T> value -> {
+                            if (remaining.decrement().isZero()) {
+                                return Stream.of(value, new Complete<>());
+                            }
+                        }
+                        case Batch<T>(final var values) -> {
+                            if (remaining.compareTo(values.size()) <= 0) {
+                                final var value = values.get((int) remaining.saturatedLongValue() - 1);
+                                return Stream.of(new Value<>(value), new Complete<>());
+                            }
+
+                            remaining.subtract(values.size());
+                        }
+                        case Error<T> error -> {
+                            return Stream.of(error);
+                        }
+                        case Complete<T> complete -> {
+                            return Stream.of(complete);
+                        }
+                    }
+                }
+            }
+
+            return Stream.of(new Complete<>());
+        };
+    }
+}
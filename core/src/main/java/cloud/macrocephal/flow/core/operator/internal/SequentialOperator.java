@@ -0,0 +1,188 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Rails;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.Flow.defaultBufferSize;
+
+/**
+ * Merge {@link Rails} back into one {@link Swarm}, taking values from rails in turn as they come. Each rail gets
+ * {@link #prefetch()} values requested ahead, then three quarters of it again once delivered downstream. Any other
+ * operand is passed through.
+ */
+public record SequentialOperator<T>(int prefetch) implements Operator<T, Swarm<T>> {
+    public SequentialOperator {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be > 0. Given: %d".formatted(prefetch));
+        }
+    }
+
+    public SequentialOperator() {
+        this(defaultBufferSize());
+    }
+
+    @Override
+    public Swarm<T> apply(Publisher<T> operand) {
+        if (operand instanceof Rails<T> rails) {
+            return new Swarm<>(subscriber -> {
+                final var merge = new Merge(requireNonNull(subscriber), rails.rails());
+                subscriber.onSubscribe(merge);
+                merge.subscribe();
+            });
+        } else {
+            return new Swarm<>(operand);
+        }
+    }
+
+    private final class Merge implements Subscription {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final int limit = prefetch - (prefetch >> 2);
+        private final Subscriber<? super T> subscriber;
+        private final List<Publisher<T>> sources;
+        private final AtomicInteger remaining;
+        private volatile boolean finished;
+        private volatile Throwable invalid;
+        private final List<Inner> inners;
+
+        private Merge(Subscriber<? super T> subscriber, List<Publisher<T>> sources) {
+            this.inners = sources.stream().map(ignored -> new Inner()).toList();
+            this.remaining = new AtomicInteger(sources.size());
+            this.subscriber = subscriber;
+            this.sources = sources;
+        }
+
+        private void subscribe() {
+            for (int index = 0; index < inners.size() && !finished; ++index) {
+                sources.get(index).subscribe(inners.get(index));
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (0 < n) {
+                Demand.add(requested, n);
+            } else {
+                invalid = Spec303Subscription.invalidRequest(n);
+            }
+
+            drain.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            finished = true;
+            inners.forEach(Inner::cancel);
+            drain.schedule();
+        }
+
+        private void drainLoop() {
+            if (!finished && nonNull(invalid)) {
+                cancel();
+                subscriber.onError(invalid);
+            }
+
+            final var requested = this.requested.get();
+            var emitted = 0L;
+            var progress = true;
+
+            while (!finished && isNull(error.get()) && emitted != requested && progress) {
+                progress = false;
+
+                for (int index = 0; index < inners.size() && emitted != requested; ++index) {
+                    final var inner = inners.get(index);
+                    final var next = inner.queue.poll();
+
+                    if (nonNull(next)) {
+                        subscriber.onNext(next);
+                        inner.consumed();
+                        progress = true;
+                        ++emitted;
+                    }
+                }
+            }
+
+            Demand.produced(this.requested, emitted);
+
+            // NOTE: One failing rail fails them all, completion waits for every rail to be done and delivered
+            if (!finished && nonNull(error.get())) {
+                cancel();
+                subscriber.onError(error.get());
+            } else if (!finished && 0 == remaining.get() && inners.stream().allMatch(inner -> inner.queue.isEmpty())) {
+                finished = true;
+                subscriber.onComplete();
+            }
+
+            if (finished) {
+                inners.forEach(inner -> inner.queue.clear());
+            }
+        }
+
+        private final class Inner implements Subscriber<T> {
+            private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+            private volatile Subscription subscription;
+            private volatile boolean cancelled;
+            private int consumed;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+
+                if (cancelled || finished) {
+                    subscription.cancel();
+                } else {
+                    subscription.request(prefetch);
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                queue.offer(item);
+                drain.schedule();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.compareAndSet(null, throwable);
+                drain.schedule();
+            }
+
+            @Override
+            public void onComplete() {
+                remaining.decrementAndGet();
+                drain.schedule();
+            }
+
+            private void consumed() {
+                if (++consumed == limit) {
+                    consumed = 0;
+                    subscription.request(limit);
+                }
+            }
+
+            private void cancel() {
+                cancelled = true;
+                ofNullable(subscription).ifPresent(Subscription::cancel);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Subscribe to and request from the operand on {@link #scheduler()}: pull-based publishers then run their puller
+ * there, whichever thread downstream requests from.
+ */
+public record SubscribeOnOperator<T>(Scheduler scheduler) implements Operator<T, Swarm<T>> {
+    public SubscribeOnOperator {
+        requireNonNull(scheduler);
+    }
+
+    @Override
+    public Swarm<T> apply(Publisher<T> operand) {
+        return new Swarm<>(subscriber -> {
+            requireNonNull(subscriber);
+            scheduler.execute(() -> operand.subscribe(new Subscriber<T>() {
+                private final AtomicLong requested = new AtomicLong();
+                private final Drain drain = new Drain(this::drainLoop);
+                private volatile Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscriber.onSubscribe(new Subscription() {
+                        @Override
+                        public void request(long n) {
+                            if (0 < n) {
+                                Demand.add(requested, n);
+                                drain.schedule(scheduler);
+                            } else {
+                                // NOTE: Let upstream signal the invalid request
+                                subscription.request(n);
+                            }
+                        }
+
+                        @Override
+                        public void cancel() {
+                            subscription.cancel();
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(T item) {
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+
+                private void drainLoop() {
+                    final var n = requested.getAndSet(0);
+
+                    if (0 != n) {
+                        subscription.request(n);
+                    }
+                }
+            }));
+        });
+    }
+}
@@ -0,0 +1,271 @@
+package cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.exception.BackPressureException;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.internal.SpscRing;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.math.BigInteger.valueOf;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Subscribe to the publisher each value maps to, cancelling the previous one: only the latest inner publisher's
+ * values go downstream. Upstream is requested without bound, the running inner publisher gets {@link #prefetch()}
+ * values requested ahead, then three quarters of it again once delivered.
+ */
+public record SwitchMapOperator<T, U>(Function<T, Publisher<U>> mapper, int prefetch)
+        implements Operator<T, Swarm<U>> {
+    public SwitchMapOperator {
+        requireNonNull(mapper);
+
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be > 0. Given: %d".formatted(prefetch));
+        }
+    }
+
+    @Override
+    public Swarm<U> apply(Publisher<T> operand) {
+        return new Swarm<>(subscriber -> operand.subscribe(new Switch(requireNonNull(subscriber))));
+    }
+
+    private final class Switch implements Subscriber<T>, Subscription {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicReference<Inner> current = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final int limit = prefetch - (prefetch >> 2);
+        private final Subscriber<? super U> subscriber;
+        private volatile Subscription subscription;
+        private volatile boolean upstreamCompleted;
+        private volatile boolean cancelled;
+        private volatile Throwable invalid;
+        private boolean finished;
+
+        private Switch(Subscriber<? super U> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+
+            final Publisher<U> applied;
+
+            try {
+                applied = requireNonNull(mapper().apply(item));
+            } catch (Throwable throwable) {
+                subscription.cancel();
+                onError(throwable);
+                return;
+            }
+
+            final var inner = new Inner(applied);
+            ofNullable(current.getAndSet(inner)).ifPresent(Inner::cancel);
+            applied.subscribe(inner);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.compareAndSet(null, throwable);
+            drain.schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamCompleted = true;
+            drain.schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (0 < n) {
+                Demand.add(requested, n);
+            } else {
+                invalid = Spec303Subscription.invalidRequest(n);
+            }
+
+            drain.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelAll();
+            drain.schedule();
+        }
+
+        private void cancelAll() {
+            ofNullable(subscription).ifPresent(Subscription::cancel);
+            ofNullable(current.get()).ifPresent(Inner::cancel);
+        }
+
+        private void drainLoop() {
+            if (finished) {
+                return;
+            } else if (cancelled) {
+                finished = true;
+                current.set(null);
+                return;
+            } else if (nonNull(invalid)) {
+                cancel();
+                finished = true;
+                subscriber.onError(invalid);
+                return;
+            }
+
+            final var inner = current.get();
+
+            if (nonNull(inner)) {
+                final var requested = this.requested.get();
+                var emitted = 0L;
+
+                while (emitted != requested && !cancelled && inner == current.get()) {
+                    final var next = inner.poll();
+
+                    if (isNull(next)) {
+                        break;
+                    }
+
+                    subscriber.onNext(next);
+                    inner.consumed();
+                    ++emitted;
+                }
+
+                Demand.produced(this.requested, emitted);
+            }
+
+            // NOTE: Upstream completion happens after its last inner was set, so it has to be read first
+            final var completed = upstreamCompleted;
+            final var latest = current.get();
+
+            if (nonNull(error.get())) {
+                cancelAll();
+                finished = true;
+                subscriber.onError(error.get());
+            } else if (completed && (isNull(latest) || latest.done && latest.isEmpty())) {
+                finished = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private final class Inner implements Subscriber<U> {
+            private volatile Subscription subscription;
+            private final Publisher<U> publisher;
+            // NOTE: Most switched-away inners never queue anything, so their queue is only made once needed
+            private volatile SpscRing<U> queue;
+            private volatile boolean done;
+            private int consumed;
+
+            private Inner(Publisher<U> publisher) {
+                this.publisher = publisher;
+            }
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+
+                if (cancelled || this != current.get()) {
+                    subscription.cancel();
+                } else {
+                    subscription.request(prefetch);
+                }
+            }
+
+            @Override
+            public void onNext(U item) {
+                if (this != current.get()) {
+                    return;
+                }
+
+                if (drain.enter()) {
+                    try {
+                        // NOTE: With demand and nothing queued ahead, the value needs no hop through the queue
+                        if (!finished && isEmpty() && 0 < requested.get()) {
+                            subscriber.onNext(item);
+                            Demand.produced(requested, 1);
+                            consumed();
+                        } else {
+                            enqueue(item);
+                            drainLoop();
+                        }
+                    } finally {
+                        drain.leave();
+                    }
+                } else {
+                    enqueue(item);
+                    drain.schedule();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (this == current.get()) {
+                    error.compareAndSet(null, throwable);
+                    drain.schedule();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                done = true;
+                drain.schedule();
+            }
+
+            private void enqueue(U item) {
+                final var queue = isNull(this.queue) ? this.queue = new SpscRing<>(prefetch) : this.queue;
+
+                if (!queue.offer(item)) {
+                    cancel();
+                    onError(new BackPressureException(publisher, valueOf(prefetch)));
+                }
+            }
+
+            private U poll() {
+                return isNull(queue) ? null : queue.poll();
+            }
+
+            private boolean isEmpty() {
+                return isNull(queue) || queue.isEmpty();
+            }
+
+            private void consumed() {
+                if (++consumed == limit) {
+                    consumed = 0;
+                    subscription.request(limit);
+                }
+            }
+
+            private void cancel() {
+                ofNullable(subscription).ifPresent(Subscription::cancel);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.internal.DoubleSession;
+import cloud.macrocephal.flow.core.publisher.internal.DoubleStages;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A unicast pull-based {@link Swarm} of {@code double}s, the way {@link LongSwarm} is one of {@code long}s.
+ */
+public final class DoubleSwarm implements Publisher<Double> {
+    private final Supplier<DoublePuller> pullerFactory;
+
+    public DoubleSwarm(Supplier<DoublePuller> pullerFactory) {
+        this.pullerFactory = requireNonNull(pullerFactory);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Double> subscriber) {
+        DoubleSession.subscribe(requireNonNull(subscriber), requireNonNull(pullerFactory.get()));
+    }
+
+    public <P extends Publisher<?>> P pipe(Operator<Double, P> operator) {
+        return operator.apply(this);
+    }
+
+    public DoubleSwarm map(DoubleUnaryOperator mapper) {
+        requireNonNull(mapper);
+        return new DoubleSwarm(() -> DoubleStages.map(requireNonNull(pullerFactory.get()), mapper));
+    }
+
+    public DoubleSwarm filter(DoublePredicate predicate) {
+        requireNonNull(predicate);
+        return new DoubleSwarm(() -> DoubleStages.filter(requireNonNull(pullerFactory.get()), predicate));
+    }
+
+    /**
+     * @return how many values were pulled so far, after each of them
+     */
+    public LongSwarm counting() {
+        return new LongSwarm(() -> DoubleStages.counting(requireNonNull(pullerFactory.get())));
+    }
+
+    public DoubleSwarm sum() {
+        return reduce(0D, Double::sum);
+    }
+
+    public DoubleSwarm min() {
+        return reduce(null, Math::min);
+    }
+
+    public DoubleSwarm max() {
+        return reduce(null, Math::max);
+    }
+
+    public LongSwarm mapToLong(DoubleToLongFunction mapper) {
+        requireNonNull(mapper);
+        return new LongSwarm(() -> DoubleStages.mapToLong(requireNonNull(pullerFactory.get()), mapper));
+    }
+
+    public <U> Swarm<U> mapToObj(DoubleFunction<U> mapper) {
+        requireNonNull(mapper);
+        return new Swarm<>(new PullInto<>(0, ERROR, () ->
+                DoubleStages.mapToObj(requireNonNull(pullerFactory.get()), mapper)));
+    }
+
+    public Swarm<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    private DoubleSwarm reduce(Double identity, DoubleBinaryOperator reducer) {
+        return new DoubleSwarm(() -> DoubleStages.reduce(requireNonNull(pullerFactory.get()), identity, reducer));
+    }
+
+    public static DoubleSwarm empty() {
+        return of();
+    }
+
+    public static DoubleSwarm of(double... values) {
+        final var next = requireNonNull(values).clone();
+        return new DoubleSwarm(() -> DoubleStages.of(next));
+    }
+
+    /**
+     * Write at most {@code n} values into {@code sink}, possibly followed by a terminal signal, as a {@link Puller}
+     * does.
+     */
+    @FunctionalInterface
+    public interface DoublePuller {
+        void pull(long n, DoubleSink sink);
+    }
+
+    public interface DoubleSink extends Sink<Double> {
+        void onValue(double value);
+
+        @Override
+        default void onValue(Double value) {
+            onValue(value.doubleValue());
+        }
+    }
+
+    public interface DoubleSubscriber extends Subscriber<Double> {
+        void onNext(double item);
+
+        @Override
+        default void onNext(Double item) {
+            onNext(item.doubleValue());
+        }
+    }
+}
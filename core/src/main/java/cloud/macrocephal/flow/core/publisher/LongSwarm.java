@@ -0,0 +1,136 @@
+package cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.internal.LongSession;
+import cloud.macrocephal.flow.core.publisher.internal.LongStages;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A unicast pull-based {@link Swarm} of {@code long}s: each subscriber gets its own {@link LongPuller}, and values
+ * stay unboxed from it down to {@link LongSubscriber}s, through {@link #map(LongUnaryOperator)} and the likes. Other
+ * subscribers get boxed values, with the same demand semantics.
+ */
+public final class LongSwarm implements Publisher<Long> {
+    private final Supplier<LongPuller> pullerFactory;
+
+    public LongSwarm(Supplier<LongPuller> pullerFactory) {
+        this.pullerFactory = requireNonNull(pullerFactory);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Long> subscriber) {
+        LongSession.subscribe(requireNonNull(subscriber), requireNonNull(pullerFactory.get()));
+    }
+
+    public <P extends Publisher<?>> P pipe(Operator<Long, P> operator) {
+        return operator.apply(this);
+    }
+
+    public LongSwarm map(LongUnaryOperator mapper) {
+        requireNonNull(mapper);
+        return new LongSwarm(() -> LongStages.map(requireNonNull(pullerFactory.get()), mapper));
+    }
+
+    public LongSwarm filter(LongPredicate predicate) {
+        requireNonNull(predicate);
+        return new LongSwarm(() -> LongStages.filter(requireNonNull(pullerFactory.get()), predicate));
+    }
+
+    /**
+     * @return how many values were pulled so far, after each of them
+     */
+    public LongSwarm counting() {
+        return new LongSwarm(() -> LongStages.counting(requireNonNull(pullerFactory.get())));
+    }
+
+    /**
+     * @throws ArithmeticException signaled, once the sum overflows
+     */
+    public LongSwarm sum() {
+        return reduce(0L, Math::addExact);
+    }
+
+    public LongSwarm min() {
+        return reduce(null, Math::min);
+    }
+
+    public LongSwarm max() {
+        return reduce(null, Math::max);
+    }
+
+    public DoubleSwarm mapToDouble(LongToDoubleFunction mapper) {
+        requireNonNull(mapper);
+        return new DoubleSwarm(() -> LongStages.mapToDouble(requireNonNull(pullerFactory.get()), mapper));
+    }
+
+    public <U> Swarm<U> mapToObj(LongFunction<U> mapper) {
+        requireNonNull(mapper);
+        return new Swarm<>(new PullInto<>(0, ERROR, () ->
+                LongStages.mapToObj(requireNonNull(pullerFactory.get()), mapper)));
+    }
+
+    public Swarm<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    private LongSwarm reduce(Long identity, LongBinaryOperator reducer) {
+        return new LongSwarm(() -> LongStages.reduce(requireNonNull(pullerFactory.get()), identity, reducer));
+    }
+
+    public static LongSwarm empty() {
+        return of();
+    }
+
+    public static LongSwarm of(long... values) {
+        final var next = requireNonNull(values).clone();
+        return new LongSwarm(() -> LongStages.of(next));
+    }
+
+    /**
+     * @return values from {@code from}, inclusive, to {@code to}, exclusive
+     */
+    public static LongSwarm range(long from, long to) {
+        return new LongSwarm(() -> LongStages.range(from, to));
+    }
+
+    /**
+     * Write at most {@code n} values into {@code sink}, possibly followed by a terminal signal, as a {@link Puller}
+     * does.
+     */
+    @FunctionalInterface
+    public interface LongPuller {
+        void pull(long n, LongSink sink);
+    }
+
+    public interface LongSink extends Sink<Long> {
+        void onValue(long value);
+
+        @Override
+        default void onValue(Long value) {
+            onValue(value.longValue());
+        }
+    }
+
+    public interface LongSubscriber extends Subscriber<Long> {
+        void onNext(long item);
+
+        @Override
+        default void onNext(Long item) {
+            onNext(item.longValue());
+        }
+    }
+}
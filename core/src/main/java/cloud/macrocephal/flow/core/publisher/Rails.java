@@ -0,0 +1,50 @@
+package cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.operator.internal.SequentialOperator;
+
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Independently back-pressured publishers sharing one source, as split by {@link Operator#parallel(int)}.
+ * <p>
+ * {@link #pipe(Operator)} applies an operator on each rail, so that it runs in parallel; subscribing merges rails back
+ * as {@link #sequential()} does, with no ordering across rails.
+ */
+public final class Rails<T> implements Publisher<T> {
+    private final List<Publisher<T>> rails;
+
+    public Rails(List<? extends Publisher<T>> rails) {
+        if (requireNonNull(rails).isEmpty()) {
+            throw new IllegalArgumentException("Rails need at least one rail.");
+        }
+
+        this.rails = List.copyOf(rails);
+    }
+
+    public List<Publisher<T>> rails() {
+        return rails;
+    }
+
+    public int parallelism() {
+        return rails.size();
+    }
+
+    public <U> Rails<U> pipe(Operator<T, ? extends Publisher<U>> operator) {
+        requireNonNull(operator);
+        return new Rails<>(rails.stream().<Publisher<U>>map(operator::apply).toList());
+    }
+
+    public Swarm<T> sequential() {
+        return new SequentialOperator<T>().apply(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        sequential().subscribe(subscriber);
+    }
+}
@@ -1,48 +1,59 @@
 package cloud.macrocephal.flow.core.publisher;
 
-import cloud.macrocephal.flow.core.Signal;
 import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.operator.internal.FusedPublisher;
 import cloud.macrocephal.flow.core.operator.internal.NthOperator;
 import cloud.macrocephal.flow.core.publisher.internal.PublisherDefault;
+import cloud.macrocephal.flow.core.publisher.internal.ScalarPublisher;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
-import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscriber;
-import java.util.stream.Stream;
 
-import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
 import static java.math.BigInteger.ONE;
-import static java.math.BigInteger.ZERO;
 import static java.util.Objects.requireNonNull;
 
 public final class Single<T> extends PublisherDefault<T> {
+    private final boolean scalar;
+
     public Single(Publisher<T> publisher) {
         super(publisher);
+        scalar = publisher instanceof ScalarPublisher<T>;
     }
 
     public Single(PublisherStrategy<T> publisherStrategy) {
         super(publisherStrategy);
+        scalar = false;
     }
 
     public <P extends Publisher<?>> P pipe(Operator<T, P> operator) {
-        return super.pipe(operand -> operator.apply(new NthOperator<T>(ONE).apply(operand)));
+        // NOTE: Fusing into other sources would bypass the single value guard of subscribe
+        return scalar ? super.pipe(operator) : operator.apply(this);
     }
 
     @Override
     public void subscribe(Subscriber<? super T> subscriber) {
-        pipe(operand -> operand).subscribe(subscriber);
+        if (scalar) {
+            super.subscribe(subscriber);
+        } else {
+            FusedPublisher.<T, T>of(super::subscribe, new NthOperator<>(ONE)).subscribe(subscriber);
+        }
     }
 
     public static <T> Single<T> empty() {
-        final var completeSignal = new Signal.Complete<T>();
-        return new Single<>(new Pull<>(ZERO, ERROR, () -> ignored -> Stream.of(completeSignal)));
+        return new Single<>(new ScalarPublisher<T>(() -> null));
     }
 
     public static <T> Single<T> of(T value) {
         final var next = requireNonNull(value);
-        final var valueSignal = new Signal.Value<>(next);
-        final var completeSignal = new Signal.Complete<T>();
-        return new Single<>(new Pull<>(ZERO, ERROR, () -> ignored -> Stream.of(valueSignal, completeSignal)));
+        return new Single<>(new ScalarPublisher<>(() -> next));
+    }
+
+    /**
+     * @return a single computing its value on each subscriber's first request, {@code null} standing for no value
+     */
+    public static <T> Single<T> fromCallable(Callable<? extends T> callable) {
+        return new Single<>(new ScalarPublisher<T>(callable));
     }
 }
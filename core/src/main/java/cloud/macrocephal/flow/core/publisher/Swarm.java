@@ -7,12 +7,12 @@ import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
 
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
 import java.util.concurrent.Flow.Publisher;
 import java.util.stream.Stream;
 
 import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
-import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
 import static java.util.Objects.requireNonNull;
 
 public final class Swarm<T> extends PublisherDefault<T> {
@@ -30,15 +30,22 @@ public final class Swarm<T> extends PublisherDefault<T> {
     }
 
 
+    /**
+     * @return a unicast swarm completing every subscriber right away
+     */
     public static <T> Swarm<T> empty() {
         final var completeSignal = new Signal.Complete<T>();
-        return new Swarm<>(new Pull<>(ONE, ERROR, () -> ignored -> Stream.of(completeSignal)));
+        return new Swarm<>(new Pull<>(ZERO, ERROR, () -> ignored -> Stream.of(completeSignal)));
     }
 
+    /**
+     * @return a unicast swarm of {@code values}: each subscriber gets every one of them, and operators fused after it
+     * are pushed down into its puller
+     */
     public static <T> Swarm<T> of(Collection<T> values) {
         final var completeSignal = new Signal.Complete<T>();
         final var next = requireNonNull(values);
-        return new Swarm<>(new Pull<>(ONE, ERROR, () -> ignored -> Stream.concat(
-                next.stream().map(Objects::requireNonNull).map(Signal.Value::new), Stream.of(completeSignal))));
+        return new Swarm<>(new Pull<>(ZERO, ERROR, () -> ignored -> Stream.of(
+                new Signal.Batch<>(List.copyOf(next)), completeSignal)));
     }
 }
@@ -0,0 +1,299 @@
+package cloud.macrocephal.flow.core.publisher.internal;
+
+import cloud.macrocephal.flow.core.publisher.DoubleSwarm.DoublePuller;
+import cloud.macrocephal.flow.core.publisher.DoubleSwarm.DoubleSink;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongPuller;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongSink;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Objects.nonNull;
+
+/**
+ * {@code DoubleSwarm} sources and stages, built the way {@link LongStages} ones are.
+ */
+public final class DoubleStages {
+    private DoubleStages() {
+    }
+
+    public static DoublePuller of(double[] values) {
+        return new DoublePuller() {
+            private int index;
+
+            @Override
+            public void pull(long n, DoubleSink sink) {
+                for (var count = 0L; count < n && index < values.length && !sink.isCancelled(); ++count) {
+                    sink.onValue(values[index++]);
+                }
+
+                if (index == values.length) {
+                    sink.onComplete();
+                }
+            }
+        };
+    }
+
+    public static DoublePuller map(DoublePuller upstream, DoubleUnaryOperator mapper) {
+        final class Map extends Stage<DoubleSink> implements DoublePuller {
+            private Map() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, DoubleSink sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(double value) {
+                if (!done) {
+                    final double mapped;
+
+                    try {
+                        mapped = mapper.applyAsDouble(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    downstream.onValue(mapped);
+                }
+            }
+        }
+
+        return new Map();
+    }
+
+    /**
+     * Values the predicate rejects leave demand unmet, so the upstream puller is pulled again for that many, until it
+     * writes nothing.
+     */
+    public static DoublePuller filter(DoublePuller upstream, DoublePredicate predicate) {
+        final class Filter extends Stage<DoubleSink> implements DoublePuller {
+            private long written;
+            private long passed;
+
+            private Filter() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, DoubleSink sink) {
+                passed = 0;
+
+                do {
+                    written = 0;
+                    pullFor(n - passed, sink);
+                } while (!done && 0 != written && passed != n && !sink.isCancelled());
+            }
+
+            @Override
+            public void onValue(double value) {
+                if (!done) {
+                    final boolean accepted;
+                    ++written;
+
+                    try {
+                        accepted = predicate.test(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    if (accepted) {
+                        ++passed;
+                        downstream.onValue(value);
+                    }
+                }
+            }
+        }
+
+        return new Filter();
+    }
+
+    public static LongPuller counting(DoublePuller upstream) {
+        final class Counting extends Stage<LongSink> implements LongPuller {
+            private long count;
+
+            private Counting() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(double value) {
+                if (!done) {
+                    downstream.onValue(++count);
+                }
+            }
+        }
+
+        return new Counting();
+    }
+
+    /**
+     * Pull everything upstream has, then write the reduction of it, if any: {@code identity} or the first value is
+     * where it starts from.
+     */
+    public static DoublePuller reduce(DoublePuller upstream, Double identity, DoubleBinaryOperator reducer) {
+        final class Reduce extends Stage<DoubleSink> implements DoublePuller {
+            private boolean present = nonNull(identity);
+            private double result = present ? identity : 0;
+            private boolean written;
+
+            private Reduce() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, DoubleSink sink) {
+                do {
+                    written = false;
+                    pullFor(MAX_VALUE, sink);
+                } while (!done && written && !sink.isCancelled());
+            }
+
+            @Override
+            public void onValue(double value) {
+                if (!done) {
+                    written = true;
+
+                    try {
+                        result = present ? reducer.applyAsDouble(result, value) : value;
+                        present = true;
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+
+                    if (present) {
+                        downstream.onValue(result);
+                    }
+
+                    downstream.onComplete();
+                }
+            }
+        }
+
+        return new Reduce();
+    }
+
+    public static LongPuller mapToLong(DoublePuller upstream, DoubleToLongFunction mapper) {
+        final class MapToLong extends Stage<LongSink> implements LongPuller {
+            private MapToLong() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(double value) {
+                if (!done) {
+                    final long mapped;
+
+                    try {
+                        mapped = mapper.applyAsLong(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    downstream.onValue(mapped);
+                }
+            }
+        }
+
+        return new MapToLong();
+    }
+
+    public static <U> Puller<U> mapToObj(DoublePuller upstream, DoubleFunction<U> mapper) {
+        final class MapToObj extends Stage<Sink<? super U>> implements Puller<U> {
+            private MapToObj() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, Sink<? super U> sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(double value) {
+                if (!done) {
+                    final U mapped;
+
+                    try {
+                        mapped = mapper.apply(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    downstream.onValue(mapped);
+                }
+            }
+        }
+
+        return new MapToObj();
+    }
+
+    /**
+     * What stages share: pulling on behalf of {@link #downstream}, whatever its value type, and forwarding terminal
+     * signals to it once.
+     */
+    private abstract static class Stage<S extends Sink<?>> implements DoubleSink {
+        private final DoublePuller upstream;
+        protected S downstream;
+        protected boolean done;
+
+        private Stage(DoublePuller upstream) {
+            this.upstream = upstream;
+        }
+
+        protected void pullFor(long n, S sink) {
+            downstream = sink;
+            upstream.pull(n, this);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return done || downstream.isCancelled();
+        }
+    }
+}
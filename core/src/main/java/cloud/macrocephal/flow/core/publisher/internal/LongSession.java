@@ -0,0 +1,110 @@
+package cloud.macrocephal.flow.core.publisher.internal;
+
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongPuller;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongSink;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongSubscriber;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One {@code LongSwarm} subscriber worth of state, kept the way the unicast pull strategy does: requests only add
+ * demand, the drain loop is the only one pulling, and the puller writes at most {@link #budget} more values into
+ * this sink per pull.
+ */
+public final class LongSession implements LongSink {
+    private final AtomicLong requested = new AtomicLong();
+    private final Drain drain = new Drain(this::drainLoop);
+    private final Subscriber<? super Long> subscriber;
+    private final LongSubscriber unboxed;
+    private final LongPuller puller;
+    private volatile Throwable invalid;
+    private volatile boolean done;
+    private long budget;
+
+    private LongSession(Subscriber<? super Long> subscriber, LongPuller puller) {
+        this.unboxed = subscriber instanceof LongSubscriber longSubscriber ? longSubscriber : null;
+        this.subscriber = subscriber;
+        this.puller = puller;
+    }
+
+    public static void subscribe(Subscriber<? super Long> subscriber, LongPuller puller) {
+        final var session = new LongSession(subscriber, puller);
+        subscriber.onSubscribe(new Spec303Subscription<Long>(subscriber, session::cancel, session::request));
+    }
+
+    private void request(long n) {
+        if (0 < n) {
+            Demand.add(requested, n);
+        } else {
+            invalid = Spec303Subscription.invalidRequest(n);
+        }
+
+        drain.schedule();
+    }
+
+    private void cancel(Subscriber<? super Long> ignored) {
+        done = true;
+    }
+
+    private void drainLoop() {
+        if (done) {
+            return;
+        } else if (nonNull(invalid)) {
+            done = true;
+            subscriber.onError(invalid);
+            return;
+        }
+
+        final var requested = this.requested.get();
+
+        // NOTE: Pull at most once per pass, requests made meanwhile schedule another one
+        if (0 != requested) {
+            budget = requested;
+            puller.pull(requested, this);
+            Demand.produced(this.requested, requested - budget);
+        }
+    }
+
+    @Override
+    public void onValue(long value) {
+        if (!done) {
+            if (0 == budget) {
+                onError(new IllegalStateException("Puller wrote more values than requested."));
+            } else if (nonNull(unboxed)) {
+                --budget;
+                unboxed.onNext(value);
+            } else {
+                --budget;
+                subscriber.onNext(value);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (!done) {
+            done = true;
+            subscriber.onError(requireNonNull(throwable));
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!done) {
+            done = true;
+            subscriber.onComplete();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return done;
+    }
+}
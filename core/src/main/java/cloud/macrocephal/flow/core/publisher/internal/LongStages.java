@@ -0,0 +1,318 @@
+package cloud.macrocephal.flow.core.publisher.internal;
+
+import cloud.macrocephal.flow.core.publisher.DoubleSwarm.DoublePuller;
+import cloud.macrocephal.flow.core.publisher.DoubleSwarm.DoubleSink;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongPuller;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongSink;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongUnaryOperator;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Objects.nonNull;
+
+/**
+ * {@code LongSwarm} sources and stages. A stage is the puller downstream pulls from and the sink its upstream
+ * puller writes into, both at once: one is created per subscriber and reused across pulls, so values flow through
+ * without boxing nor allocation.
+ */
+public final class LongStages {
+    private LongStages() {
+    }
+
+    public static LongPuller of(long[] values) {
+        return new LongPuller() {
+            private int index;
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                for (var count = 0L; count < n && index < values.length && !sink.isCancelled(); ++count) {
+                    sink.onValue(values[index++]);
+                }
+
+                if (index == values.length) {
+                    sink.onComplete();
+                }
+            }
+        };
+    }
+
+    public static LongPuller range(long from, long to) {
+        return new LongPuller() {
+            private long next = from;
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                for (var count = 0L; count < n && next < to && !sink.isCancelled(); ++count) {
+                    sink.onValue(next++);
+                }
+
+                if (to <= next) {
+                    sink.onComplete();
+                }
+            }
+        };
+    }
+
+    public static LongPuller map(LongPuller upstream, LongUnaryOperator mapper) {
+        final class Map extends Stage<LongSink> implements LongPuller {
+            private Map() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(long value) {
+                if (!done) {
+                    final long mapped;
+
+                    try {
+                        mapped = mapper.applyAsLong(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    downstream.onValue(mapped);
+                }
+            }
+        }
+
+        return new Map();
+    }
+
+    /**
+     * Values the predicate rejects leave demand unmet, so the upstream puller is pulled again for that many, until it
+     * writes nothing.
+     */
+    public static LongPuller filter(LongPuller upstream, LongPredicate predicate) {
+        final class Filter extends Stage<LongSink> implements LongPuller {
+            private long written;
+            private long passed;
+
+            private Filter() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                passed = 0;
+
+                do {
+                    written = 0;
+                    pullFor(n - passed, sink);
+                } while (!done && 0 != written && passed != n && !sink.isCancelled());
+            }
+
+            @Override
+            public void onValue(long value) {
+                if (!done) {
+                    final boolean accepted;
+                    ++written;
+
+                    try {
+                        accepted = predicate.test(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    if (accepted) {
+                        ++passed;
+                        downstream.onValue(value);
+                    }
+                }
+            }
+        }
+
+        return new Filter();
+    }
+
+    public static LongPuller counting(LongPuller upstream) {
+        final class Counting extends Stage<LongSink> implements LongPuller {
+            private long count;
+
+            private Counting() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(long value) {
+                if (!done) {
+                    downstream.onValue(++count);
+                }
+            }
+        }
+
+        return new Counting();
+    }
+
+    /**
+     * Pull everything upstream has, then write the reduction of it, if any: {@code identity} or the first value is
+     * where it starts from.
+     */
+    public static LongPuller reduce(LongPuller upstream, Long identity, LongBinaryOperator reducer) {
+        final class Reduce extends Stage<LongSink> implements LongPuller {
+            private boolean present = nonNull(identity);
+            private long result = present ? identity : 0;
+            private boolean written;
+
+            private Reduce() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, LongSink sink) {
+                do {
+                    written = false;
+                    pullFor(MAX_VALUE, sink);
+                } while (!done && written && !sink.isCancelled());
+            }
+
+            @Override
+            public void onValue(long value) {
+                if (!done) {
+                    written = true;
+
+                    try {
+                        result = present ? reducer.applyAsLong(result, value) : value;
+                        present = true;
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+
+                    if (present) {
+                        downstream.onValue(result);
+                    }
+
+                    downstream.onComplete();
+                }
+            }
+        }
+
+        return new Reduce();
+    }
+
+    public static DoublePuller mapToDouble(LongPuller upstream, LongToDoubleFunction mapper) {
+        final class MapToDouble extends Stage<DoubleSink> implements DoublePuller {
+            private MapToDouble() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, DoubleSink sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(long value) {
+                if (!done) {
+                    final double mapped;
+
+                    try {
+                        mapped = mapper.applyAsDouble(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    downstream.onValue(mapped);
+                }
+            }
+        }
+
+        return new MapToDouble();
+    }
+
+    public static <U> Puller<U> mapToObj(LongPuller upstream, LongFunction<U> mapper) {
+        final class MapToObj extends Stage<Sink<? super U>> implements Puller<U> {
+            private MapToObj() {
+                super(upstream);
+            }
+
+            @Override
+            public void pull(long n, Sink<? super U> sink) {
+                pullFor(n, sink);
+            }
+
+            @Override
+            public void onValue(long value) {
+                if (!done) {
+                    final U mapped;
+
+                    try {
+                        mapped = mapper.apply(value);
+                    } catch (Throwable throwable) {
+                        onError(throwable);
+                        return;
+                    }
+
+                    downstream.onValue(mapped);
+                }
+            }
+        }
+
+        return new MapToObj();
+    }
+
+    /**
+     * What stages share: pulling on behalf of {@link #downstream}, whatever its value type, and forwarding terminal
+     * signals to it once.
+     */
+    private abstract static class Stage<S extends Sink<?>> implements LongSink {
+        private final LongPuller upstream;
+        protected S downstream;
+        protected boolean done;
+
+        private Stage(LongPuller upstream) {
+            this.upstream = upstream;
+        }
+
+        protected void pullFor(long n, S sink) {
+            downstream = sink;
+            upstream.pull(n, this);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return done || downstream.isCancelled();
+        }
+    }
+}
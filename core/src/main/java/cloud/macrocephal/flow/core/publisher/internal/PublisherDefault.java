@@ -1,36 +1,55 @@
 package cloud.macrocephal.flow.core.publisher.internal;
 
 import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.operator.internal.FusedPublisher;
+import cloud.macrocephal.flow.core.operator.internal.FusibleOperator;
+import cloud.macrocephal.flow.core.operator.internal.MapOperator;
+import cloud.macrocephal.flow.core.operator.internal.PullPushdown;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.multicast.MulticastPullPublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.multicast.MulticastPushPublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.unicast.UnicastPullPublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.unicast.UnicastPushPublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.workqueue.WorkQueuePublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.AsyncPull;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.WorkQueue;
 
 import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscriber;
+import java.util.function.Function;
 
 import static java.math.BigInteger.ZERO;
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 
 public class PublisherDefault<T> implements Publisher<T> {
+    private final PublisherStrategy<T> publisherStrategy;
     private final Publisher<T> strategy;
 
     protected PublisherDefault(Publisher<T> publisher) {
         strategy = requireNonNull(publisher);
+        publisherStrategy = null;
     }
 
     protected PublisherDefault(PublisherStrategy<T> publisherStrategy) {
+        this.publisherStrategy = publisherStrategy;
         strategy = switch (publisherStrategy) {
             case Pull<T> pull -> isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO)
                     ? new MulticastPullPublisherStrategy<>(publisherStrategy)
                     : new UnicastPullPublisherStrategy<>(publisherStrategy);
+            case PullInto<T> pull -> isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO)
+                    ? new MulticastPullPublisherStrategy<>(publisherStrategy)
+                    : new UnicastPullPublisherStrategy<>(publisherStrategy);
+            case AsyncPull<T> pull -> isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO)
+                    ? new MulticastPullPublisherStrategy<>(publisherStrategy)
+                    : new UnicastPullPublisherStrategy<>(publisherStrategy);
             case Push<T> push -> isNull(push.capacity()) || 0 < push.capacity().compareTo(ZERO)
                     ? new MulticastPushPublisherStrategy<>(publisherStrategy)
                     : new UnicastPushPublisherStrategy<>(publisherStrategy);
+            case WorkQueue<T> ignored -> new WorkQueuePublisherStrategy<>(publisherStrategy);
         };
     }
 
@@ -39,7 +58,26 @@ public class PublisherDefault<T> implements Publisher<T> {
         strategy.subscribe(subscriber);
     }
 
+    @SuppressWarnings("unchecked")
     protected <P extends Publisher<?>> P pipe(Operator<T, P> operator) {
-        return operator.apply(this);
+        return operator instanceof FusibleOperator<T, ?, P> fusible ? (P) fuse(fusible) : operator.apply(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> Publisher<U> fuse(FusibleOperator<T, U, ?> operator) {
+        if (strategy instanceof ScalarPublisher<T> scalar && operator instanceof MapOperator<?, ?>(final var mapper)) {
+            return operator.wrap(scalar.map((Function<T, U>) mapper));
+        }
+
+        if (publisherStrategy instanceof Pull<T> pull) {
+            final var pushedDown = PullPushdown.of(pull, operator);
+
+            if (pushedDown.isPresent()) {
+                return operator.wrap(pushedDown.get());
+            }
+        }
+
+        // NOTE: Fusible operators piped one after another join the stage this publisher wraps, if any
+        return strategy instanceof FusedPublisher<?, T> fused ? operator.apply(fused) : operator.apply(this);
     }
 }
@@ -0,0 +1,89 @@
+package cloud.macrocephal.flow.core.publisher.internal;
+
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * At most one value, computed by {@link #callable()} on the first request and signalled right away, with no strategy
+ * nor buffer involved: a {@code null} result completes without any value.
+ */
+public record ScalarPublisher<T>(Callable<? extends T> callable) implements Publisher<T> {
+    public ScalarPublisher {
+        requireNonNull(callable);
+    }
+
+    /**
+     * @return this publisher with {@code mapper} applied within the same call: no value maps to no value, while a
+     * value mapped to {@code null} signals a {@link NullPointerException}, as every other map does
+     */
+    public <U> ScalarPublisher<U> map(Function<? super T, ? extends U> mapper) {
+        requireNonNull(mapper);
+        return new ScalarPublisher<>(() -> {
+            final var value = callable.call();
+            return isNull(value) ? null : requireNonNull(mapper.apply(value), "Mapper returned null.");
+        });
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber).onSubscribe(new ScalarSubscription<>(subscriber, callable));
+    }
+
+    private static final class ScalarSubscription<T> implements Subscription {
+        private static final int REQUESTED = 1;
+        private static final int CANCELLED = 2;
+        private static final int IDLE = 0;
+        private final AtomicInteger state = new AtomicInteger();
+        private final Callable<? extends T> callable;
+        private final Subscriber<? super T> subscriber;
+
+        private ScalarSubscription(Subscriber<? super T> subscriber, Callable<? extends T> callable) {
+            this.subscriber = subscriber;
+            this.callable = callable;
+        }
+
+        @Override
+        public void request(long n) {
+            if (state.compareAndSet(IDLE, REQUESTED)) {
+                if (n <= 0) {
+                    state.set(CANCELLED);
+                    subscriber.onError(Spec303Subscription.invalidRequest(n));
+                    return;
+                }
+
+                final T value;
+
+                try {
+                    value = callable.call();
+                } catch (Throwable throwable) {
+                    state.set(CANCELLED);
+                    subscriber.onError(throwable);
+                    return;
+                }
+
+                if (nonNull(value)) {
+                    subscriber.onNext(value);
+                }
+
+                if (state.compareAndSet(REQUESTED, CANCELLED)) {
+                    subscriber.onComplete();
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            state.set(CANCELLED);
+        }
+    }
+}
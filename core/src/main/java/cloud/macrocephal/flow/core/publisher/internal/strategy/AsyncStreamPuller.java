@@ -0,0 +1,169 @@
+package cloud.macrocephal.flow.core.publisher.internal.strategy;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.AsyncPull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link AsyncPull} puller seen as a {@link Puller}, which never waits: each pull writes whatever signals the
+ * oldest completed stages yielded, then issues a stage for the demand pending ones do not {@link #cover}. Once a stage
+ * completes, {@link #ready} has the publisher pull again. Signals beyond the demand at hand stay in {@link #pending}.
+ */
+public final class AsyncStreamPuller<T> implements Puller<T> {
+    private final LongFunction<CompletionStage<Stream<Signal<T>>>> puller;
+    private final Queue<Stage<T>> stages = new ArrayDeque<>();
+    private final Runnable ready;
+    private final int maxInFlight;
+    private Iterator<Signal<T>> pending;
+    private Signal<T> peeked;
+    private long cover;
+    private long left;
+    private int offset;
+
+    public AsyncStreamPuller(LongFunction<CompletionStage<Stream<Signal<T>>>> puller,
+                             int maxInFlight,
+                             Runnable ready) {
+        this.puller = requireNonNull(puller);
+        this.ready = requireNonNull(ready);
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void pull(long n, Sink<? super T> sink) {
+        final var emitted = emit(n, sink);
+
+        // NOTE: Demand that pending stages already asked for is not asked for again, however many requests brought it
+        if (!sink.isCancelled() && stages.size() < maxInFlight && cover < n - emitted) {
+            final var stage = new Stage<T>(n - emitted - cover);
+            stages.add(stage);
+            cover += stage.asked;
+            requireNonNull(puller.apply(stage.asked)).whenComplete((signals, throwable) -> {
+                stage.signals = signals(signals, throwable);
+                stage.done = true;
+                ready.run();
+            });
+        }
+    }
+
+    /**
+     * @return how many values were written
+     */
+    private long emit(long n, Sink<? super T> sink) {
+        var emitted = 0L;
+
+        while (!sink.isCancelled()) {
+            if (isNull(peeked)) {
+                if (nonNull(pending) && pending.hasNext()) {
+                    peeked = requireNonNull(pending.next());
+                    continue;
+                }
+
+                // NOTE: What an exhausted stage asked for yet did not yield is no longer covered
+                cover -= left;
+                left = 0;
+                pending = null;
+
+                if (nonNull(stages.peek()) && stages.peek().done) {
+                    left = stages.peek().asked;
+                    pending = stages.poll().signals.iterator();
+                    continue;
+                }
+
+                return emitted;
+            }
+
+            switch (peeked) {
+                case Signal.Value(var value) -> {
+                    if (emitted == n) {
+                        return emitted;
+                    }
+
+                    final var next = requireNonNull(value);
+                    peeked = null;
+                    written();
+                    ++emitted;
+                    sink.onValue(next);
+                }
+                case Signal.Batch(var values) -> {
+                    while (offset < values.size()) {
+                        if (emitted == n || sink.isCancelled()) {
+                            return emitted;
+                        }
+
+                        final var next = requireNonNull(values.get(offset++));
+                        written();
+                        ++emitted;
+                        sink.onValue(next);
+                    }
+
+                    peeked = null;
+                    offset = 0;
+                }
+                case Signal.Error(var throwable) -> {
+                    release();
+                    sink.onError(throwable);
+                    return emitted;
+                }
+                case Signal.Complete() -> {
+                    release();
+                    sink.onComplete();
+                    return emitted;
+                }
+            }
+        }
+
+        return emitted;
+    }
+
+    private static <T> Stream<Signal<T>> signals(Stream<Signal<T>> signals, Throwable throwable) {
+        if (nonNull(throwable)) {
+            final var cause = throwable instanceof CompletionException && nonNull(throwable.getCause())
+                    ? throwable.getCause()
+                    : throwable;
+            return Stream.of(new Signal.Error<>(cause));
+        }
+
+        return nonNull(signals)
+                ? signals
+                : Stream.of(new Signal.Error<>(new NullPointerException("Puller completed with no stream.")));
+    }
+
+    private void written() {
+        if (0 < left) {
+            --left;
+            --cover;
+        }
+    }
+
+    private void release() {
+        stages.clear();
+        pending = null;
+        peeked = null;
+        offset = 0;
+        cover = 0;
+        left = 0;
+    }
+
+    private static final class Stage<T> {
+        private final long asked;
+        private volatile Stream<Signal<T>> signals;
+        private volatile boolean done;
+
+        private Stage(long asked) {
+            this.asked = asked;
+        }
+    }
+}
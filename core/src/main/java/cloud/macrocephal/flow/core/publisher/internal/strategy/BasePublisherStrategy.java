@@ -1,6 +1,6 @@
 package cloud.macrocephal.flow.core.publisher.internal.strategy;
 
-import cloud.macrocephal.flow.core.buffer.Buffer;
+import cloud.macrocephal.flow.core.internal.Registry;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
 
 import java.util.concurrent.Flow.Publisher;
@@ -8,32 +8,29 @@ import java.util.concurrent.Flow.Subscriber;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Strategies never hold a lock while calling subscribers: signals go through a drain loop, and {@link #subscribers}
+ * registers, unregisters and iterates them without locking either.
+ */
 public abstract class BasePublisherStrategy<T> implements Publisher<T> {
-    protected final Buffer<Subscriber<? super T>> subscribers = Buffer.of();
+    protected final Registry<Subscriber<? super T>> subscribers = new Registry<>();
 
     protected BasePublisherStrategy(PublisherStrategy<T> publisherStrategy) {
         requireNonNull(publisherStrategy);
     }
 
-    synchronized protected void error(Subscriber<? super T> subscriber, Throwable throwable) {
+    protected void error(Subscriber<? super T> subscriber, Throwable throwable) {
         cancel(subscriber);
         subscriber.onError(throwable);
     }
 
-    synchronized protected void complete(Subscriber<? super T> subscriber) {
+    protected void complete(Subscriber<? super T> subscriber) {
         cancel(subscriber);
         subscriber.onComplete();
     }
 
-    synchronized protected void cancel(Subscriber<? super T> subscriber) {
-        final var iterator = subscribers.iterator();
-
-        while (iterator.hasNext()) {
-            if (subscriber.equals(iterator.next())) {
-                iterator.remove();
-                iterator.forEachRemaining(this::noop);
-            }
-        }
+    protected void cancel(Subscriber<? super T> subscriber) {
+        subscribers.remove(subscriber);
     }
 
     protected <U> void noop(U ignored) {
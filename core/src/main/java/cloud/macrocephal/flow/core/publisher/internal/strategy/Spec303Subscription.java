@@ -1,24 +1,24 @@
 package cloud.macrocephal.flow.core.publisher.internal.strategy;
 
-import java.math.BigInteger;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 
-import static java.lang.Long.MAX_VALUE;
-import static java.math.BigInteger.ZERO;
-import static java.math.BigInteger.valueOf;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Subscription whose handlers only record demand or cancellation and schedule the strategy drain loop: recursion
+ * between {@link #request(long)} and {@link Subscriber#onNext(Object)} is bounded by that loop (spec 3.3).
+ * <p>
+ * Request handlers are expected to reject {@code n <= 0} by signalling an {@link IllegalArgumentException} from
+ * their drain loop, so that it stays serialized with other signals (spec 3.9).
+ */
 public class Spec303Subscription<T> implements Subscription {
-    private static final BigInteger MAX_LONG_VALUE = valueOf(MAX_VALUE);
     private final Consumer<Subscriber<? super T>> cancelHandler;
     private final Subscriber<? super T> subscriber;
     private final LongConsumer requestHandler;
-    private BigInteger requests = ZERO;
-    private boolean uncancelled = true;
-    private boolean pending;
+    private volatile boolean uncancelled = true;
 
     public Spec303Subscription(Subscriber<? super T> subscriber,
                                Consumer<Subscriber<? super T>> cancelHandler, LongConsumer requestHandler) {
@@ -28,31 +28,21 @@ public class Spec303Subscription<T> implements Subscription {
     }
 
     @Override
-    synchronized public void request(long n) {
+    public void request(long n) {
         if (uncancelled) {
-            if (n <= 0) {
-                cancel();
-                subscriber.onError(new IllegalArgumentException("Request count must be > 0. Given: %d".formatted(n)));
-            } else if (pending) {
-                requests = requests.add(valueOf(n));
-            } else {
-                pending = true;
-                requestHandler.accept(n);
-
-                while (0 < requests.compareTo(ZERO)) {
-                    final var next = requests.min(MAX_LONG_VALUE);
-                    requests = requests.subtract(next);
-                    requestHandler.accept(next.longValue());
-                }
-
-                pending = false;
-            }
+            requestHandler.accept(n);
         }
     }
 
     @Override
-    synchronized public void cancel() {
-        uncancelled = false;
-        cancelHandler.accept(subscriber);
+    public void cancel() {
+        if (uncancelled) {
+            uncancelled = false;
+            cancelHandler.accept(subscriber);
+        }
+    }
+
+    public static IllegalArgumentException invalidRequest(long n) {
+        return new IllegalArgumentException("Request count must be > 0. Given: %d".formatted(n));
     }
 }
@@ -0,0 +1,94 @@
+package cloud.macrocephal.flow.core.publisher.internal.strategy;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+
+import java.util.Iterator;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Pull} puller seen as a {@link Puller}. Signals its streams yield beyond the demand at hand stay in
+ * {@link #pending} for the next pull, the rest of a batch in {@link #peeked} from {@link #offset} on.
+ */
+public final class StreamPuller<T> implements Puller<T> {
+    private final LongFunction<Stream<Signal<T>>> puller;
+    private Iterator<Signal<T>> pending;
+    private Signal<T> peeked;
+    private int offset;
+
+    public StreamPuller(LongFunction<Stream<Signal<T>>> puller) {
+        this.puller = requireNonNull(puller);
+    }
+
+    @Override
+    public void pull(long n, Sink<? super T> sink) {
+        var called = false;
+        var emitted = 0L;
+
+        while (!sink.isCancelled()) {
+            if (isNull(peeked)) {
+                if (nonNull(pending) && pending.hasNext()) {
+                    peeked = requireNonNull(pending.next());
+                } else if (emitted != n && !called) {
+                    // NOTE: Pull at most once per call, an exhausted puller waits for the next request
+                    called = true;
+                    pending = requireNonNull(puller.apply(n - emitted)).iterator();
+                    continue;
+                } else {
+                    return;
+                }
+            }
+
+            switch (peeked) {
+                case Signal.Value(var value) -> {
+                    // NOTE: Looking one signal ahead lets completion through without waiting for more demand
+                    if (emitted == n) {
+                        return;
+                    }
+
+                    final var next = requireNonNull(value);
+                    peeked = null;
+                    ++emitted;
+                    sink.onValue(next);
+                }
+                case Signal.Batch(var values) -> {
+                    while (offset < values.size()) {
+                        if (emitted == n || sink.isCancelled()) {
+                            return;
+                        }
+
+                        final var next = requireNonNull(values.get(offset++));
+                        ++emitted;
+                        sink.onValue(next);
+                    }
+
+                    peeked = null;
+                    offset = 0;
+                }
+                case Signal.Error(var throwable) -> {
+                    release();
+                    sink.onError(throwable);
+                    return;
+                }
+                case Signal.Complete() -> {
+                    release();
+                    sink.onComplete();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void release() {
+        pending = null;
+        peeked = null;
+        offset = 0;
+    }
+}
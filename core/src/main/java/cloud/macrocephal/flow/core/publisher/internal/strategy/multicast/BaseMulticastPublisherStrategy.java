@@ -1,49 +1,202 @@
 package cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
 
-import cloud.macrocephal.flow.core.buffer.Buffer;
+import cloud.macrocephal.flow.core.exception.LagException;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.BasePublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.AsyncPull;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Replay;
 
 import java.math.BigInteger;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.lang.Long.MAX_VALUE;
 import static java.math.BigInteger.ZERO;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
 
+/**
+ * Multicast publishers share one {@link MulticastRing} of values and track one monotonically increasing read cursor
+ * per subscriber: values are retained until every cursor read them, and the slowest one decides when the buffer is at
+ * capacity.
+ * <p>
+ * The ring, the cursors and the registry of subscribers are only touched from {@link #drainLoop()}: subscriptions,
+ * requests, cancellations and source signals are recorded and the drain is scheduled, so exactly one thread at a time
+ * runs it and no lock is held while calling subscribers.
+ */
 public abstract class BaseMulticastPublisherStrategy<T> extends BasePublisherStrategy<T> {
-    protected final Buffer<Entry<T>> entries = Buffer.of();
+    private final Queue<Cursor<T>> arrivals = new ConcurrentLinkedQueue<>();
+    protected final Drain drain = new Drain(this::drainLoop);
+    protected final MulticastRing<T> ring;
     protected final BigInteger capacity;
+    private final long limit;
     protected boolean active = true;
     protected boolean completed;
     protected Throwable error;
 
     protected BaseMulticastPublisherStrategy(PublisherStrategy<T> publisherStrategy) {
         super(publisherStrategy);
+        final Replay replay;
         switch (publisherStrategy) {
-            case Pull<T> pull when isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO) ->
-                    this.capacity = pull.capacity();
-            case Push<T> push when isNull(push.capacity()) || 0 < push.capacity().compareTo(ZERO) ->
-                    this.capacity = push.capacity();
+            case Pull<T> pull when isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO) -> {
+                this.capacity = pull.capacity();
+                replay = pull.replay();
+            }
+            case PullInto<T> pull when isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO) -> {
+                this.capacity = pull.capacity();
+                replay = pull.replay();
+            }
+            case AsyncPull<T> pull when isNull(pull.capacity()) || 0 < pull.capacity().compareTo(ZERO) -> {
+                this.capacity = pull.capacity();
+                replay = pull.replay();
+            }
+            case Push<T> push when isNull(push.capacity()) || 0 < push.capacity().compareTo(ZERO) -> {
+                this.capacity = push.capacity();
+                replay = push.replay();
+            }
             default -> throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
         }
+
+        this.ring = isNull(replay) ? new MulticastRing<>() : new MulticastRing<>(replay.size(), replay.age());
+
+        // NOTE: sequences are longs, a capacity beyond Long.MAX_VALUE cannot be reached
+        this.limit = isNull(capacity) || 64 <= capacity.bitLength() ? MAX_VALUE : capacity.longValue();
     }
 
     @Override
-    protected synchronized void error(Subscriber<? super T> subscriber, Throwable throwable) {
-        freeUpSubscriber(subscriber);
-        super.error(subscriber, throwable);
+    public void subscribe(Subscriber<? super T> subscriber) {
+        arrivals.offer(track(requireNonNull(subscriber)));
+        drain.schedule();
+    }
+
+    protected abstract void drainLoop();
+
+    /**
+     * Hook to create the cursor that tracks {@code subscriber}: runs on the subscribing thread.
+     */
+    protected Cursor<T> track(Subscriber<? super T> subscriber) {
+        return new Cursor<>(subscriber);
+    }
+
+    /**
+     * Hook for the first steps of a request, before the drain is scheduled: runs on the requesting thread.
+     */
+    protected void requested(Cursor<T> cursor) {
+    }
+
+    /**
+     * Hook for the first steps of a cancellation, before the drain is scheduled: runs on the cancelling thread.
+     */
+    protected void cancelled(Cursor<T> cursor) {
+    }
+
+    /**
+     * Register subscribers that arrived since the last pass: they start reading at the oldest value kept for replay,
+     * if any, at the current tail otherwise.
+     */
+    protected void admit() {
+        Cursor<T> cursor;
+
+        while (nonNull(cursor = arrivals.poll())) {
+            if (subscribers.add(cursor)) {
+                final var admitted = cursor;
+                admitted.sequence = ring.replay();
+                admitted.onSubscribe(new Spec303Subscription<T>(
+                        admitted,
+                        ignored -> {
+                            admitted.cancelled = true;
+                            cancelled(admitted);
+                            drain.schedule();
+                        },
+                        n -> {
+                            if (0 < n) {
+                                Demand.add(admitted.requested, n);
+                                requested(admitted);
+                            } else {
+                                admitted.invalid = Spec303Subscription.invalidRequest(n);
+                            }
+
+                            drain.schedule();
+                        }));
+
+                // NOTE: Those with values to replay are terminated once they caught up
+                if (!active && !admitted.cancelled && admitted.sequence == ring.tail()) {
+                    tryTerminate(admitted);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unregister {@code cursor} if it was cancelled or requested an invalid amount.
+     *
+     * @return whether {@code cursor} is done
+     */
+    protected boolean reap(Cursor<T> cursor) {
+        if (cursor.cancelled) {
+            if (subscribers.contains(cursor)) {
+                cancel(cursor);
+            }
+
+            return true;
+        } else if (nonNull(cursor.invalid)) {
+            error(cursor, cursor.invalid);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Deliver retained values to {@code cursor} as long as it has demand.
+     *
+     * @return whether {@code cursor} caught up with every published value
+     */
+    protected boolean catchUp(Cursor<T> cursor) {
+        // NOTE: A conflated value is older than every value retained past the cursor
+        if (!cursor.cancelled && nonNull(cursor.latest) && 0 < cursor.requested.get()) {
+            final var value = cursor.latest;
+            cursor.latest = null;
+            Demand.produced(cursor.requested, 1);
+            cursor.onNext(value);
+        }
+
+        while (!cursor.cancelled && isNull(cursor.latest) && cursor.sequence < ring.tail()
+                && 0 < cursor.requested.get()) {
+            final var value = ring.get(cursor.sequence);
+            Demand.produced(cursor.requested, 1);
+            advance(cursor);
+            cursor.onNext(value);
+        }
+
+        return !cursor.cancelled && isNull(cursor.latest) && cursor.sequence == ring.tail();
     }
 
     @Override
-    synchronized protected void cancel(Subscriber<? super T> subscriber) {
-        freeUpSubscriber(subscriber);
-        super.cancel(subscriber);
+    protected void cancel(Subscriber<? super T> subscriber) {
+        if (subscriber instanceof Cursor<?> cursor) {
+            cursor.cancelled = true;
+
+            if (subscribers.remove(subscriber)) {
+                ring.leave(cursor.sequence);
+            }
+        } else {
+            super.cancel(subscriber);
+        }
     }
 
-    synchronized protected boolean tryTerminate(Subscriber<? super T> subscriber) {
+    protected boolean tryTerminate(Subscriber<? super T> subscriber) {
         if (completed) {
             complete(subscriber);
             return true;
@@ -55,24 +208,151 @@ public abstract class BaseMulticastPublisherStrategy<T> extends BasePublisherStr
         }
     }
 
-    private void freeUpSubscriber(Subscriber<? super T> subscriber) {
-        if (subscribers.contains(subscriber)) {
-            final var iterator = entries.iterator();
+    /**
+     * Move {@code cursor} to its next sequence, freeing the head slot if it was the last one to read it.
+     */
+    protected void advance(Cursor<T> cursor) {
+        ring.advance(cursor.sequence++);
+    }
+
+    /**
+     * Have every cursor still to read the head value skip it, so that it is released.
+     */
+    protected void dropOldest() {
+        final var head = ring.head();
+
+        for (final var subscriber : snapshot()) {
+            final var cursor = cursor(subscriber);
+
+            if (head == cursor.sequence) {
+                advance(cursor);
+            }
+        }
+    }
+
+    /**
+     * Error with a {@link LagException} every cursor still to read the head value, so that it is released while
+     * faster subscribers carry on.
+     */
+    protected void evictSlowest() {
+        final var head = ring.head();
 
-            while (iterator.hasNext()) {
-                final var subscribers = iterator.next().subscribers();
+        for (final var subscriber : snapshot()) {
+            final var cursor = cursor(subscriber);
 
-                if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
-                    iterator.remove();
+            if (head == cursor.sequence) {
+                if (cursor.cancelled) {
+                    cancel(cursor);
+                } else {
+                    error(cursor, new LagException(cursor.subscriber, this));
                 }
             }
         }
     }
 
+    /**
+     * Publish {@code value}, having every cursor still to read the head value skip every retained one: {@code value}
+     * is kept aside as the only one they have pending, so that they hold no more than that while others carry on.
+     */
+    protected void conflate(T value) {
+        final var head = ring.head();
+        final var subscribers = snapshot();
+
+        for (final var subscriber : subscribers) {
+            final var cursor = cursor(subscriber);
+
+            if (head == cursor.sequence) {
+                ring.leave(cursor.sequence);
+                cursor.latest = value;
+            }
+        }
+
+        ring.publish(value);
+
+        // NOTE: Cursors that left still point at the former head, which they were the last ones to read
+        for (final var subscriber : subscribers) {
+            final var cursor = cursor(subscriber);
+
+            if (head == cursor.sequence) {
+                cursor.sequence = ring.join();
+            }
+        }
+
+        ring.releaseUnread();
+    }
+
     protected boolean isBufferFullCapacity() {
-        return nonNull(capacity) && capacity.equals(entries.size());
+        return limit <= ring.size();
+    }
+
+    /**
+     * @return how many more values can be retained before reaching capacity
+     */
+    protected long room() {
+        return limit - ring.size();
     }
 
-    protected record Entry<T>(T value, Buffer<Subscriber<? super T>> subscribers) {
+    protected List<Subscriber<? super T>> snapshot() {
+        return subscribers.snapshot();
+    }
+
+    protected Cursor<T> cursor(Subscriber<? super T> subscriber) {
+        //noinspection unchecked
+        return (Cursor<T>) subscriber;
+    }
+
+    protected static final class Cursor<T> implements Subscriber<T> {
+        protected final AtomicLong requested = new AtomicLong();
+        protected final Subscriber<? super T> subscriber;
+        // NOTE: When set, terminal signals go through it rather than straight to the subscriber
+        protected MulticastLane<T> lane;
+        protected T latest;
+        protected volatile boolean cancelled;
+        protected volatile Throwable invalid;
+        protected long sequence;
+
+        protected Cursor(Subscriber<? super T> subscriber) {
+            this.subscriber = requireNonNull(subscriber);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || (obj instanceof Cursor<?> cursor
+                    ? subscriber.equals(cursor.subscriber)
+                    : obj instanceof Subscriber<?> sub && subscriber.equals(sub));
+        }
+
+        @Override
+        public int hashCode() {
+            return subscriber.hashCode();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscriber.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (isNull(lane)) {
+                subscriber.onError(throwable);
+            } else {
+                lane.error(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (isNull(lane)) {
+                subscriber.onComplete();
+            } else {
+                lane.complete();
+            }
+        }
     }
 }
@@ -0,0 +1,139 @@
+package cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
+
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.internal.SpscRing;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded hand-off between a multicast publisher and one of its subscribers: the publisher's drain offers values and
+ * terminal signals, while this lane's own drain delivers them on {@link #scheduler} as demand allows. The publisher is
+ * the only producer and this lane's drain the only consumer of its {@link SpscRing}.
+ */
+public final class MulticastLane<T> {
+    private final AtomicBoolean awaited = new AtomicBoolean();
+    private final Drain drain = new Drain(this::drainLoop);
+    private final Subscriber<? super T> subscriber;
+    private final Runnable roomMade;
+    private final Scheduler scheduler;
+    private final AtomicLong requested;
+    private final SpscRing<T> queue;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    private volatile boolean done;
+    private boolean finished;
+
+    /**
+     * @param roomMade run once values were delivered, if the publisher {@link #offerOrAwait(Object) awaited} room
+     */
+    public MulticastLane(Subscriber<? super T> subscriber,
+                         AtomicLong requested,
+                         int capacity,
+                         Scheduler scheduler,
+                         Runnable roomMade) {
+        this.queue = new SpscRing<>(capacity);
+        this.subscriber = requireNonNull(subscriber);
+        this.scheduler = requireNonNull(scheduler);
+        this.requested = requireNonNull(requested);
+        this.roomMade = requireNonNull(roomMade);
+    }
+
+    /**
+     * @return whether {@code value} was enqueued, which it is not once the lane is full
+     */
+    public boolean offer(T value) {
+        return queue.offer(value);
+    }
+
+    /**
+     * Same as {@link #offer(Object)}, except that a full lane has the publisher notified once it made room again.
+     */
+    public boolean offerOrAwait(T value) {
+        if (queue.offer(value)) {
+            return true;
+        }
+
+        awaited.set(true);
+        // NOTE: The lane may have made room between both offers, before it could see it was awaited
+        return queue.offer(value);
+    }
+
+    /**
+     * Deliver what is enqueued, then complete.
+     */
+    public void complete() {
+        done = true;
+        schedule();
+    }
+
+    /**
+     * Error without delivering what is still enqueued.
+     */
+    public void error(Throwable throwable) {
+        error = requireNonNull(throwable);
+        done = true;
+        schedule();
+    }
+
+    /**
+     * Stop delivering, on the subscriber's behalf.
+     */
+    public void cancel() {
+        cancelled = true;
+        schedule();
+    }
+
+    public void schedule() {
+        drain.schedule(scheduler);
+    }
+
+    private void drainLoop() {
+        if (!finished && cancelled) {
+            finished = true;
+        }
+
+        final var requested = this.requested.get();
+        var emitted = 0L;
+
+        while (!finished && isNull(error) && emitted != requested) {
+            final var next = queue.poll();
+
+            if (isNull(next)) {
+                break;
+            }
+
+            subscriber.onNext(next);
+            ++emitted;
+        }
+
+        Demand.produced(this.requested, emitted);
+
+        // NOTE: Errors do not wait for demand, completion waits for every enqueued value to be delivered
+        if (!finished && done && (nonNull(error) || queue.isEmpty())) {
+            finished = true;
+
+            if (nonNull(error)) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        if (finished) {
+            queue.clear();
+        }
+
+        // NOTE: Swapped even when unset, a full fence after polling so that either side sees the other's write
+        if (0 < emitted && awaited.getAndSet(false)) {
+            roomMade.run();
+        }
+    }
+}
@@ -1,162 +1,209 @@
 package cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
 
-import cloud.macrocephal.flow.core.Signal;
-import cloud.macrocephal.flow.core.Signal.Complete;
-import cloud.macrocephal.flow.core.Signal.Error;
-import cloud.macrocephal.flow.core.Signal.Value;
 import cloud.macrocephal.flow.core.exception.LagException;
-import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.AsyncStreamPuller;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.StreamPuller;
 import cloud.macrocephal.flow.core.publisher.strategy.LagStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.AsyncPull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Prefetch;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
 
-import java.util.Iterator;
-import java.util.Spliterators.AbstractSpliterator;
-import java.util.concurrent.Flow.Subscriber;
-import java.util.function.Consumer;
-import java.util.function.LongFunction;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
-
-import static cloud.macrocephal.flow.core.buffer.Buffer.from;
-import static java.lang.Long.MAX_VALUE;
-import static java.lang.Math.max;
+import java.util.function.Function;
+
+import static java.lang.Math.min;
 import static java.math.BigInteger.ZERO;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
-import static java.util.Spliterator.ORDERED;
-import static java.util.function.Function.identity;
-import static java.util.stream.Stream.concat;
-import static java.util.stream.StreamSupport.stream;
 
 public class MulticastPullPublisherStrategy<T> extends BaseMulticastPublisherStrategy<T> {
-    private final Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory;
-    private LongFunction<Stream<Signal<T>>> puller;
+    private final Function<Runnable, Puller<T>> pullerFactory;
     private final LagStrategy lagStrategy;
+    private final Prefetch prefetch;
+    private final PullSink sink = new PullSink();
+    private Puller<T> puller;
 
     public MulticastPullPublisherStrategy(PublisherStrategy<T> publisherStrategy) {
         super(publisherStrategy);
-        //noinspection PatternVariableHidesField
-        if (publisherStrategy instanceof Pull(
-                final var capacity,
-                final var lagStrategy,
-                final var pullerFactory
-        ) && (isNull(capacity) || 0 < capacity.compareTo(ZERO))) {
-            this.pullerFactory = pullerFactory;
-            this.lagStrategy = lagStrategy;
-        } else {
-            throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
+        switch (publisherStrategy) {
+            // NOTE: Replay is up to the ring, set up by the base strategy
+            case Pull<T>(final var capacity, final var lagStrategy, final var prefetch, final var replay,
+                         final var pullerFactory) when isNull(capacity) || 0 < capacity.compareTo(ZERO) -> {
+                this.pullerFactory = ready -> new StreamPuller<>(requireNonNull(pullerFactory.get()));
+                this.lagStrategy = lagStrategy;
+                this.prefetch = prefetch;
+            }
+            case PullInto<T>(final var capacity, final var lagStrategy, final var prefetch, final var replay,
+                             final var pullerFactory) when isNull(capacity) || 0 < capacity.compareTo(ZERO) -> {
+                this.pullerFactory = ready -> pullerFactory.get();
+                this.lagStrategy = lagStrategy;
+                this.prefetch = prefetch;
+            }
+            case AsyncPull<T>(final var capacity, final var lagStrategy, final var maxInFlight, final var replay,
+                              final var pullerFactory) when isNull(capacity) || 0 < capacity.compareTo(ZERO) -> {
+                this.pullerFactory = ready ->
+                        new AsyncStreamPuller<>(requireNonNull(pullerFactory.get()), maxInFlight, ready);
+                this.lagStrategy = lagStrategy;
+                this.prefetch = null;
+            }
+            default -> throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
         }
     }
 
     @Override
-    synchronized public void subscribe(Subscriber<? super T> subscriber) {
-        if (!subscribers.contains(subscriber) && subscribers.add(subscriber)) {
-            subscriber.onSubscribe(new Spec303Subscription<T>(
-                    subscriber,
-                    MulticastPullPublisherStrategy.this::cancel,
-                    n -> MulticastPullPublisherStrategy.this.request(subscriber, n)));
-
-            tryTerminate(subscriber);
-        }
-    }
+    protected void drainLoop() {
+        admit();
+        boolean activated;
+        boolean pulled;
+
+        do {
+            activated = active;
+            pulled = false;
+
+            for (final var subscriber : snapshot()) {
+                final var cursor = cursor(subscriber);
+
+                if (!reap(cursor)) {
+                    final var sequence = cursor.sequence;
+                    final var caughtUp = catchUp(cursor);
+
+                    if (active && shouldPrefetch(cursor, sequence != cursor.sequence)) {
+                        pulled |= prefetch(min(prefetch.batch(), room()));
+                    } else if (caughtUp && active && 0 < cursor.requested.get()) {
+                        // NOTE: Without room to prefetch into, values are pulled for this cursor as the lag strategy says
+                        pulled |= pull(cursor);
+                    }
 
-    synchronized private void request(Subscriber<? super T> subscriber, long n) {
-        final var counter$ = new long[]{max(0, n)};
+                    if (caughtUp && !active && !cursor.cancelled && cursor.sequence == ring.tail()) {
+                        tryTerminate(cursor);
+                    }
+                }
+            }
+            // NOTE: Others may have pending demand for values pulled later, or be caught up when terminal signal came
+        } while (pulled || activated != active);
+    }
 
-        if (active && subscribers.contains(subscriber) && !tryTerminate(subscriber)) {
-            final var fromEntries = getFromEntries(subscriber, counter$);
+    /**
+     * @param consumed whether {@code cursor} was just delivered retained values
+     * @return whether a batch is due, {@code cursor} consuming or awaiting values with too few of them left ahead
+     */
+    private boolean shouldPrefetch(Cursor<T> cursor, boolean consumed) {
+        return nonNull(prefetch) && !cursor.cancelled && (consumed || 0 < cursor.requested.get())
+                && ring.tail() - cursor.sequence < prefetch.replenish() && 0 < room();
+    }
 
-            if (0 < counter$[0]) {
-                ofNullable(this.puller).orElseGet(() -> this.puller = requireNonNull(pullerFactory.get()));
-                final var fromPuller = getFromQueryWhileUpdatingEntries(counter$);
-                concat(fromEntries, fromPuller).forEachOrdered(subscriber::onNext);
-            } else {
-                fromEntries.forEachOrdered(subscriber::onNext);
-            }
+    /**
+     * Pull up to {@code n} values into the ring, delivered to no one yet: every cursor catches up with them.
+     *
+     * @return whether any value was pulled
+     */
+    private boolean prefetch(long n) {
+        ofNullable(this.puller).orElseGet(() -> this.puller = requireNonNull(pullerFactory.apply(drain::schedule)));
+        sink.budget = n;
+        puller.pull(n, sink);
+        return n != sink.budget;
+    }
 
-            tryTerminate(subscriber);
+    /**
+     * Pull as much as {@code cursor} requested, it has caught up with every retained value. Values the puller keeps
+     * beyond its demand are for whichever subscriber requests next.
+     *
+     * @return whether any value was pulled
+     */
+    private boolean pull(Cursor<T> cursor) {
+        final var requested = cursor.requested.get();
+        ofNullable(this.puller).orElseGet(() -> this.puller = requireNonNull(pullerFactory.apply(drain::schedule)));
+        sink.cursor = cursor;
+        sink.budget = requested;
+
+        try {
+            puller.pull(requested, sink);
+        } finally {
+            sink.cursor = null;
         }
-    }
 
-    private Stream<T> getFromEntries(Subscriber<? super T> subscriber, long[] counter$) {
-        return stream(new AbstractSpliterator<>(MAX_VALUE, ORDERED) {
-            final Iterator<Entry<T>> iterator = entries.iterator();
-
-            @Override
-            public boolean tryAdvance(Consumer<? super T> action) {
-                //noinspection PatternVariableHidesField
-                if (0 < counter$[0] &&
-                        iterator.hasNext() &&
-                        iterator.next() instanceof Entry<T>(var value, var subscribers)
-                        && subscribers.remove(subscriber)) {
-                    if (subscribers.isEmpty()) {
-                        subscribers.remove(subscriber);
-                    }
+        return requested != sink.budget;
+    }
 
-                    action.accept(value);
-                    return true;
-                } else {
-                    return false;
+    /**
+     * Retain {@code value} for subscribers other than {@code cursor}, which it is being delivered to.
+     */
+    private void retain(Cursor<T> cursor, T value) {
+        if (isBufferFullCapacity()) {
+            switch (lagStrategy) {
+                // NOTE: Only the subscriber that pulled this value will ever see it
+                case DROP -> {
+                    return;
                 }
+                // NOTE: Others see the publisher in error once they caught up, this one still gets the value. Pulls run
+                //       in the drain, on whichever thread requested last: there is no caller of their own to throw at
+                case ERROR, THROW -> {
+                    error = new LagException(null, this);
+                    active = false;
+                    return;
+                }
+                case DROP_OLDEST -> dropOldest();
+                case EVICT_SLOWEST -> evictSlowest();
             }
-        }, false);
+        }
+
+        ring.publish(value);
+        advance(cursor);
     }
 
-    private Stream<T> getFromQueryWhileUpdatingEntries(long[] counter$) {
-        final var self = this;
-        return stream(new AbstractSpliterator<>(MAX_VALUE, ORDERED) {
-            final Iterator<Signal<T>> iterator = requireNonNull(puller.apply(counter$[0])).iterator();
-
-            @Override
-            public boolean tryAdvance(Consumer<? super T> action) {
-                if (0 < counter$[0] && iterator.hasNext()) {
-                    switch (requireNonNull(iterator.next())) {
-                        case Value(var value) when 0 < counter$[0] -> {
-                            final var next = requireNonNull(value);
-
-                            --counter$[0];
-                            action.accept(next);
-                            if (isBufferFullCapacity()) {
-                                entries.add(new Entry<>(next, from(subscribers)));
-                                return true;
-                            } else {
-                                switch (lagStrategy) {
-                                    case DROP -> {
-                                    }
-                                    case ERROR -> {
-                                        final var entryIterator = entries.iterator();
-                                        final var nextEntry = entryIterator.next();
-                                        entryIterator.remove();
-                                        entryIterator.forEachRemaining(self::noop);
-                                        nextEntry.subscribers().forEach(subscriber ->
-                                                error(subscriber, new LagException(subscriber, self)));
-                                        return true;
-                                    }
-                                    case THROW -> throw new LagException(null, MulticastPullPublisherStrategy.this);
-                                }
-                                return false;
-                            }
-                        }
-                        case Error(var throwable) -> {
-                            iterator.forEachRemaining(identity()::apply);
-                            error = requireNonNull(throwable);
-                            return active = false;
-                        }
-                        case Complete() -> {
-                            iterator.forEachRemaining(identity()::apply);
-                            completed = true;
-                            return active = false;
-                        }
-                        default -> {
-                            return false;
-                        }
+    /**
+     * Where the puller writes values meant for {@link #cursor}, at most {@link #budget} more of them in the pull at
+     * hand; each is retained for the others before being delivered to it. Without a cursor, values are prefetched.
+     */
+    private final class PullSink implements Sink<T> {
+        private Cursor<T> cursor;
+        private long budget;
+
+        @Override
+        public void onValue(T value) {
+            if (active) {
+                if (0 == budget) {
+                    onError(new IllegalStateException("Puller wrote more values than requested."));
+                } else {
+                    final var next = requireNonNull(value);
+                    --budget;
+
+                    if (isNull(cursor)) {
+                        ring.publish(next);
+                    } else {
+                        Demand.produced(cursor.requested, 1);
+                        retain(cursor, next);
+                        cursor.onNext(next);
                     }
-
                 }
-                return false;
             }
-        }, false);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (active) {
+                error = requireNonNull(throwable);
+                active = false;
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (active) {
+                completed = true;
+                active = false;
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return !active || nonNull(cursor) && cursor.cancelled;
+        }
     }
 }
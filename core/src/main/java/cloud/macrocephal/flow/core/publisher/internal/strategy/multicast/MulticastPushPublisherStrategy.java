@@ -1,32 +1,45 @@
 package cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
 
 import cloud.macrocephal.flow.core.Signal;
-import cloud.macrocephal.flow.core.buffer.Buffer;
 import cloud.macrocephal.flow.core.exception.BackPressureException;
-import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
 import cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Watermarks;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
 
-import java.math.BigInteger;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Flow.Subscriber;
-import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.THROW;
 import static java.math.BigInteger.ZERO;
 import static java.math.BigInteger.valueOf;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.Flow.defaultBufferSize;
 
 public class MulticastPushPublisherStrategy<T> extends BaseMulticastPublisherStrategy<T> {
     private final Consumer<BiConsumer<Signal<T>, BackPressureFeedback>> pushConsumer;
     private final BackPressureStrategy backPressureStrategy;
-    private BackPressureFeedback backPressureFeedback;
-    private boolean lazyPushBasedPublisherTriggerred;
+    private final Queue<Signal<T>> signals = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<BackPressureException> overflow = new AtomicReference<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final LongAdder resumes = new LongAdder();
+    private final LongAdder pauses = new LongAdder();
+    private volatile BackPressureFeedback backPressureFeedback;
+    private final Watermarks watermarks;
+    private final Scheduler scheduler;
+    private final int laneCapacity;
     private final boolean lazy;
     private boolean paused;
 
@@ -37,185 +50,268 @@ public class MulticastPushPublisherStrategy<T> extends BaseMulticastPublisherStr
                 final var lazy,
                 final var capacity,
                 final var backPressureStrategy,
+                final var watermarks,
+                final var scheduler,
+                // NOTE: The base strategy sets its ring up for replay
+                final var replay,
                 final var pushConsumer
         ) && (isNull(capacity) || 0 < capacity.compareTo(ZERO))) {
             this.backPressureStrategy = backPressureStrategy;
             this.pushConsumer = pushConsumer;
+            this.watermarks = watermarks;
+            this.scheduler = scheduler;
             this.lazy = lazy;
+            // NOTE: Lanes are allocated upfront, so they are bounded by the default buffer size whatever the capacity
+            this.laneCapacity = isNull(capacity) || 0 < capacity.compareTo(valueOf(defaultBufferSize()))
+                    ? defaultBufferSize()
+                    : capacity.intValue();
         } else {
             throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
         }
     }
 
+    /**
+     * @return how many times the source was told to pause so far, which tells with {@link #resumes()} how often it
+     * toggles
+     */
+    public long pauses() {
+        return pauses.sum();
+    }
+
+    /**
+     * @return how many times the source was told to resume so far
+     */
+    public long resumes() {
+        return resumes.sum();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        super.subscribe(subscriber);
+
+        if (!lazy) {
+            startPushing();
+        }
+    }
+
+    @Override
+    protected Cursor<T> track(Subscriber<? super T> subscriber) {
+        final var cursor = super.track(subscriber);
+
+        if (nonNull(scheduler)) {
+            cursor.lane = new MulticastLane<>(subscriber, cursor.requested, laneCapacity, scheduler, drain::schedule);
+        }
+
+        return cursor;
+    }
+
+    @Override
+    protected void requested(Cursor<T> cursor) {
+        startPushing();
+
+        if (nonNull(cursor.lane)) {
+            cursor.lane.schedule();
+        }
+    }
+
     @Override
-    synchronized public void subscribe(Subscriber<? super T> subscriber) {
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (subscriber) {
-            final var richSubscriber = new RichSubscriber<>(new AtomicReference<>(ZERO), subscriber);
-            if (active && !subscribers.contains(richSubscriber) && subscribers.add(richSubscriber)) {
-                richSubscriber.onSubscribe(new Spec303Subscription<>(
-                        richSubscriber,
-                        ignored -> {
-                            synchronized (MulticastPushPublisherStrategy.this) {
-                                MulticastPushPublisherStrategy.this.cancel(richSubscriber);
-                            }
-                        },
-                        n -> {
-                            synchronized (MulticastPushPublisherStrategy.this) {
-                                if (subscribers.contains(richSubscriber)) {
-                                    richSubscriber.requested.updateAndGet(valueOf(n)::add);
-
-                                    if (consumeAll(richSubscriber)) {
-                                        tryTerminate(richSubscriber);
-                                    }
-                                }
-
-                                if (lazy && !lazyPushBasedPublisherTriggerred) {
-                                    lazyPushBasedPublisherTriggerred = true;
-                                    startPushing();
-                                }
-                            }
-                        }));
-
-                if (!lazy) {
-                    startPushing();
+    protected void cancelled(Cursor<T> cursor) {
+        if (nonNull(cursor.lane)) {
+            cursor.lane.cancel();
+        }
+    }
+
+    private void startPushing() {
+        if (started.compareAndSet(false, true)) {
+            pushConsumer.accept((signal, feedback) -> {
+                requireNonNull(signal);
+
+                if (nonNull(feedback)) {
+                    backPressureFeedback = feedback;
                 }
+
+                signals.offer(signal);
+                drain.schedule();
+
+                // NOTE: The drain may have run on another thread, overflows only blow up a producer's own push
+                final var exception = overflow.getAndSet(null);
+
+                if (nonNull(exception)) {
+                    throw exception;
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void drainLoop() {
+        admit();
+        Signal<T> signal;
+
+        while (nonNull(signal = signals.poll())) {
+            if (active) {
+                accept(signal);
             }
         }
+
+        consumeAll();
+
+        if (paused && (isNull(watermarks) ? !isBufferFullCapacity() : ring.size() <= watermarks.low())) {
+            paused = false;
+            resumes.increment();
+            ofNullable(backPressureFeedback).ifPresent(BackPressureFeedback::resume);
+        }
     }
 
-    synchronized private void startPushing() {
-        pushConsumer.accept((signal, feedback) -> {
-            synchronized (MulticastPushPublisherStrategy.this) {
-                backPressureFeedback = feedback;
+    private void accept(Signal<T> signal) {
+        final var feedback = backPressureFeedback;
 
-                switch (requireNonNull(signal)) {
-                    case Signal.Error(var throwable) -> {
-                        active = false;
-                        error = throwable;
-                        ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
-                        Buffer.from(subscribers).forEach(subscriber -> {
-                            if (consumeAll((RichSubscriber<? super T>) subscriber)) {
-                                tryTerminate(subscriber);
-                            }
-                        });
-                    }
-                    case Signal.Value(var value) -> {
-                        final var next = requireNonNull(value);
-
-                        if (isBufferFullCapacity()) {
-                            switch (backPressureStrategy) {
-                                case DROP -> {
-                                }
-                                case STOP -> {
-                                    active = false;
-                                    completed = true;
-                                    ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
-                                    Buffer.from(subscribers).forEach(subscriber -> {
-                                        if (consumeAll((RichSubscriber<? super T>) subscriber)) {
-                                            error(subscriber, error);
-                                        }
-                                    });
-                                }
-                                case PAUSE -> {
-                                    ofNullable(feedback).ifPresent(BackPressureFeedback::pause);
-                                    paused = true;
-                                }
-                                case ERROR -> {
-                                    active = false;
-                                    error = new BackPressureException(this, null);
-                                    ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
-                                    Buffer.from(subscribers).forEach(subscriber -> {
-                                        if (consumeAll((RichSubscriber<? super T>) subscriber)) {
-                                            error(subscriber, error);
-                                        }
-                                    });
-                                }
-                                case THROW -> throw new BackPressureException(this, capacity);
-                            }
-                        } else {
-                            entries.add(new Entry<>(next, Buffer.from(subscribers)));
-                            Buffer.from(subscribers).forEach(sub -> consumeAll((RichSubscriber<? super T>) sub));
-                        }
-                    }
-                    case Signal.Complete() -> {
-                        active = false;
-                        completed = true;
-                        ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
-                        Buffer.from(subscribers).forEach(subscriber -> {
-                            if (consumeAll((RichSubscriber<? super T>) subscriber)) {
-                                tryTerminate(subscriber);
-                            }
-                        });
+        switch (signal) {
+            case Signal.Error(var throwable) -> {
+                active = false;
+                error = requireNonNull(throwable);
+                ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
+            }
+            case Signal.Value(var value) -> publish(requireNonNull(value), feedback);
+            case Signal.Batch(var values) -> {
+                for (final var value : values) {
+                    if (!active) {
+                        break;
                     }
+
+                    publish(requireNonNull(value), feedback);
                 }
             }
-        });
+            case Signal.Complete() -> {
+                active = false;
+                completed = true;
+                ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
+            }
+        }
     }
 
-    synchronized private boolean consumeAll(RichSubscriber<? super T> subscriber) {
-        final var iterator = entries.iterator();
-        boolean consumedAll = true;
+    private void publish(T value, BackPressureFeedback feedback) {
+        if (isBufferFullCapacity()) {
+            // NOTE: Subscribers with pending demand may free some room first
+            consumeAll();
+        }
 
-        while (iterator.hasNext()) {
-            //noinspection PatternVariableHidesField
-            if (iterator.next() instanceof Entry(var value, var subscribers) && subscribers.contains(subscriber)) {
-                if (0 < subscriber.requested.get().compareTo(ZERO)) {
-                    subscriber.requested.updateAndGet(valueOf(-1)::add);
-                    subscribers.remove(subscriber);
-                    subscriber.onNext(value);
+        if (isBufferFullCapacity()) {
+            switch (backPressureStrategy) {
+                case DROP -> {
+                }
+                case STOP -> {
+                    active = false;
+                    completed = true;
+                    ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
+                }
+                case PAUSE -> pause(feedback);
+                case ERROR, THROW -> {
+                    final var exception = new BackPressureException(this, capacity);
+                    active = false;
+                    error = exception;
+                    ofNullable(feedback).ifPresent(BackPressureFeedback::stop);
 
-                    if (subscribers.isEmpty() && paused) {
-                        paused = false;
-                        ofNullable(backPressureFeedback).ifPresent(BackPressureFeedback::resume);
+                    if (THROW == backPressureStrategy) {
+                        overflow.set(exception);
                     }
-                } else if (consumedAll) {
-                    consumedAll = false;
                 }
+                case DROP_OLDEST -> {
+                    dropOldest();
+                    publish(value);
+                }
+                case EVICT_SLOWEST -> {
+                    evictSlowest();
+                    publish(value);
+                }
+                case LATEST -> conflate(value);
             }
-        }
+        } else {
+            publish(value);
 
-        return consumedAll;
+            // NOTE: Paused ahead of capacity, this value is accepted
+            if (PAUSE == backPressureStrategy && nonNull(watermarks) && !paused
+                    && watermarks.high() <= ring.size()) {
+                pause(feedback);
+            }
+        }
     }
 
-    @SuppressWarnings("ClassCanBeRecord")
-    private static final class RichSubscriber<T> implements Subscriber<T> {
-        private final AtomicReference<BigInteger> requested;
-        private final Subscriber<T> subscriber;
+    private void publish(T value) {
+        ring.publish(value);
+        ring.releaseUnread();
+    }
 
-        private RichSubscriber(AtomicReference<BigInteger> requested, Subscriber<T> subscriber) {
-            this.requested = requested;
-            this.subscriber = subscriber;
+    private void pause(BackPressureFeedback feedback) {
+        if (!paused) {
+            paused = true;
+            pauses.increment();
+            ofNullable(feedback).ifPresent(BackPressureFeedback::pause);
         }
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            return this == obj || obj instanceof Subscriber<?> sub && subscriber.equals(sub);
+    private void consumeAll() {
+        for (final var subscriber : snapshot()) {
+            consumeAll(cursor(subscriber));
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return subscriber.hashCode();
+    private void consumeAll(Cursor<T> cursor) {
+        if (!reap(cursor) && (isNull(cursor.lane) ? catchUp(cursor) : hand(cursor)) && !active) {
+            tryTerminate(cursor);
         }
+    }
 
-        @Override
-        public void onSubscribe(Subscription subscription) {
-            subscriber.onSubscribe(subscription);
-        }
+    /**
+     * Move retained values into the lane of {@code cursor}, which delivers them on its own. A full lane is subject
+     * to {@link #backPressureStrategy} on its own, other lanes are not held back by it.
+     *
+     * @return whether {@code cursor} caught up with every published value
+     */
+    private boolean hand(Cursor<T> cursor) {
+        final var lane = cursor.lane;
+        var handed = false;
 
-        @Override
-        public void onNext(T item) {
-            subscriber.onNext(item);
+        if (!cursor.cancelled && nonNull(cursor.latest) && lane.offerOrAwait(cursor.latest)) {
+            cursor.latest = null;
+            handed = true;
         }
 
-        @Override
-        public void onError(Throwable throwable) {
-            subscriber.onError(throwable);
+        while (!cursor.cancelled && isNull(cursor.latest) && cursor.sequence < ring.tail()) {
+            final var value = ring.get(cursor.sequence);
+
+            if (retains() ? lane.offerOrAwait(value) : lane.offer(value)) {
+                handed = true;
+                advance(cursor);
+            } else {
+                switch (backPressureStrategy) {
+                    case DROP -> advance(cursor);
+                    case STOP -> complete(cursor);
+                    // NOTE: Retained until the lane made room, the strategy applies to the ring once it is full
+                    case PAUSE, DROP_OLDEST, EVICT_SLOWEST, LATEST -> {
+                        lane.schedule();
+                        return false;
+                    }
+                    // NOTE: Lanes make room on their own scheduler, a full one has no producer call to throw at
+                    case ERROR, THROW -> error(cursor, new BackPressureException(this, valueOf(laneCapacity)));
+                }
+            }
         }
 
-        @Override
-        public void onComplete() {
-            subscriber.onComplete();
+        if (handed) {
+            lane.schedule();
         }
+
+        return !cursor.cancelled && isNull(cursor.latest) && cursor.sequence == ring.tail();
+    }
+
+    /**
+     * @return whether values a full lane cannot take are retained in the ring rather than shed right away
+     */
+    private boolean retains() {
+        return switch (backPressureStrategy) {
+            case PAUSE, DROP_OLDEST, EVICT_SLOWEST, LATEST -> true;
+            case ERROR, THROW, DROP, STOP -> false;
+        };
     }
 }
@@ -0,0 +1,216 @@
+package cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
+
+import java.time.Duration;
+
+import static java.lang.Math.max;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Single-copy store for multicast values, addressed by monotonically increasing sequences.
+ * <p>
+ * Values in {@code [head, tail)} are retained. Each slot counts the readers whose next value it holds, and those
+ * caught up are counted in {@link #waiting}: once the head slot counts none, no reader is left to read it, so readers
+ * moving on or leaving release values in amortized O(1), however many others there are. Slots live in a power-of-two
+ * array that only grows when retained values no longer fit.
+ * <p>
+ * For replay, values no reader is left to read are not forgotten right away: those in {@code [start, head)} are kept
+ * as long as they are among the last {@link #kept} ones, and no older than {@link #age} when set, so that readers
+ * {@link #replay() joining} later read them first. Such readers do not move the head back: values kept for replay do
+ * not count toward {@link #size()}, until a reader that did not read them yet holds them past that.
+ */
+public class MulticastRing<T> {
+    private Object[] slots = new Object[16];
+    private int[] readers = new int[16];
+    private final long kept;
+    private final long age;
+    private long[] times;
+    private int waiting;
+    private long start;
+    private long head;
+    private long tail;
+
+    public MulticastRing() {
+        this(0, null);
+    }
+
+    /**
+     * @param kept how many of the last values to keep for replay
+     * @param age  how long to keep values for replay, or {@code null} for as long as they are among those kept
+     */
+    public MulticastRing(long kept, Duration age) {
+        this.times = isNull(age) ? null : new long[slots.length];
+        this.age = isNull(age) ? 0 : age.toNanos();
+        this.kept = kept;
+    }
+
+    /**
+     * @return the oldest value counted in {@link #size()}, which is a value kept past replay if a reader holds one
+     */
+    public long head() {
+        return held() ? start : head;
+    }
+
+    public long tail() {
+        return tail;
+    }
+
+    /**
+     * @return how many values are retained for readers still to read them, those only kept for replay aside
+     */
+    public long size() {
+        return tail - head();
+    }
+
+    public long publish(T value) {
+        if (tail - start == slots.length) {
+            grow();
+        }
+
+        if (nonNull(times)) {
+            times[index(tail)] = System.nanoTime();
+        }
+
+        slots[index(tail)] = value;
+        readers[index(tail)] = waiting;
+        waiting = 0;
+        return tail++;
+    }
+
+    /**
+     * Count a new reader in, caught up with every published value.
+     *
+     * @return the sequence it reads next
+     */
+    public long join() {
+        ++waiting;
+        return tail;
+    }
+
+    /**
+     * Count a new reader in, from the oldest value kept for replay on, if any.
+     *
+     * @return the sequence it reads next
+     */
+    public long replay() {
+        final var now = isNull(times) ? 0 : System.nanoTime();
+        var sequence = max(start, tail - kept);
+
+        while (sequence < tail && expired(sequence, now)) {
+            ++sequence;
+        }
+
+        if (tail == sequence) {
+            return join();
+        }
+
+        ++readers[index(sequence)];
+        return sequence;
+    }
+
+    /**
+     * Move a reader from {@code sequence}, which it just read, to the next one.
+     */
+    public void advance(long sequence) {
+        --readers[index(sequence)];
+
+        if (tail == sequence + 1) {
+            ++waiting;
+        } else {
+            ++readers[index(sequence + 1)];
+        }
+
+        releaseUnread();
+    }
+
+    /**
+     * Count out a reader that was to read {@code sequence} next.
+     */
+    public void leave(long sequence) {
+        if (tail == sequence) {
+            --waiting;
+        } else {
+            --readers[index(sequence)];
+        }
+
+        releaseUnread();
+    }
+
+    /**
+     * Forget values from the head on, as long as no reader is left to read them, unless they are kept for replay.
+     */
+    public void releaseUnread() {
+        while (head < tail && 0 == readers[index(head)]) {
+            ++head;
+        }
+
+        final var now = isNull(times) || start == head ? 0 : System.nanoTime();
+
+        // NOTE: Values below the head are kept for replay, or still to be read by readers that joined for it
+        for (; start < head && 0 == readers[index(start)] && (kept < tail - start || expired(start, now)); ++start) {
+            slots[index(start)] = null;
+        }
+    }
+
+    public T get(long sequence) {
+        if (sequence < start || tail <= sequence) {
+            throw new IndexOutOfBoundsException("Sequence %d not in [%d, %d)".formatted(sequence, start, tail));
+        }
+
+        //noinspection unchecked
+        return (T) slots[index(sequence)];
+    }
+
+    /**
+     * Forget every value with a sequence lower than {@code sequence}.
+     */
+    public void release(long sequence) {
+        final var next = Math.min(max(head, sequence), tail);
+
+        for (; start < next; ++start) {
+            slots[index(start)] = null;
+            readers[index(start)] = 0;
+        }
+
+        head = next;
+    }
+
+    /**
+     * @return whether a reader that joined for replay holds the value at {@link #start} past the time it is kept for
+     */
+    private boolean held() {
+        return start < head && 0 < readers[index(start)]
+                && (kept < tail - start || nonNull(times) && expired(start, System.nanoTime()));
+    }
+
+    private boolean expired(long sequence, long now) {
+        return nonNull(times) && age < now - times[index(sequence)];
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & (slots.length - 1);
+    }
+
+    private void grow() {
+        if (slots.length == 1 << 30) {
+            throw new OutOfMemoryError("Multicast ring cannot retain more than %d values".formatted(slots.length));
+        }
+
+        final var grown = new Object[slots.length << 1];
+        final var grownReaders = new int[grown.length];
+        final var grownTimes = isNull(times) ? null : new long[grown.length];
+
+        for (long sequence = start; sequence < tail; ++sequence) {
+            grown[(int) sequence & (grown.length - 1)] = slots[index(sequence)];
+            grownReaders[(int) sequence & (grown.length - 1)] = readers[index(sequence)];
+
+            if (nonNull(times)) {
+                grownTimes[(int) sequence & (grown.length - 1)] = times[index(sequence)];
+            }
+        }
+
+        readers = grownReaders;
+        times = grownTimes;
+        slots = grown;
+    }
+}
@@ -1,75 +1,144 @@
 package cloud.macrocephal.flow.core.publisher.internal.strategy.unicast;
 
-import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.AsyncStreamPuller;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.BasePublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.StreamPuller;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.AsyncPull;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
 
 import java.util.concurrent.Flow.Subscriber;
-import java.util.function.LongFunction;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
-import static java.lang.Math.max;
 import static java.math.BigInteger.ZERO;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 
 public class UnicastPullPublisherStrategy<T> extends BasePublisherStrategy<T> {
-    private final Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory;
+    private final Function<Runnable, Puller<T>> pullerFactory;
 
     public UnicastPullPublisherStrategy(PublisherStrategy<T> publisherStrategy) {
         super(publisherStrategy);
-        if (publisherStrategy instanceof Pull<T> pull && 0 <= ZERO.compareTo(pull.capacity())) {
-            this.pullerFactory = pull.pullerFactory();
-        } else {
-            throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
-        }
+        this.pullerFactory = switch (publisherStrategy) {
+            case Pull<T> pull when 0 <= ZERO.compareTo(pull.capacity()) -> {
+                final var streamPullerFactory = pull.pullerFactory();
+                yield ignored -> new StreamPuller<>(requireNonNull(streamPullerFactory.get()));
+            }
+            case PullInto<T> pull when 0 <= ZERO.compareTo(pull.capacity()) -> {
+                final var pullerFactory = pull.pullerFactory();
+                yield ignored -> pullerFactory.get();
+            }
+            case AsyncPull<T> pull when 0 <= ZERO.compareTo(pull.capacity()) -> {
+                final var asyncPullerFactory = pull.pullerFactory();
+                yield ready -> new AsyncStreamPuller<>(requireNonNull(asyncPullerFactory.get()), pull.maxInFlight(),
+                        ready);
+            }
+            default -> throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
+        };
     }
 
     @Override
-    synchronized public void subscribe(Subscriber<? super T> subscriber) {
-        if (!subscribers.contains(subscriber) && subscribers.add(subscriber)) {
-            final var puller = requireNonNull(pullerFactory.get());
-            subscriber.onSubscribe(new Spec303Subscription<T>(
-                    subscriber,
-                    UnicastPullPublisherStrategy.this::cancel,
-                    n -> UnicastPullPublisherStrategy.this.request(puller, subscriber, n)));
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
+
+        if (subscribers.add(subscriber)) {
+            final var session = new Session(subscriber);
+            subscriber.onSubscribe(new Spec303Subscription<T>(subscriber, session::cancel, session::request));
         }
     }
 
-    synchronized private void request(final LongFunction<Stream<Signal<T>>> puller,
-                                      final Subscriber<? super T> subscriber,
-                                      final long n) {
-        final var counter$ = new long[]{max(0, n)};
-
-        if (subscribers.contains(subscriber)) {
-            final var response = requireNonNull(puller.apply(counter$[0]));
-            final var iterator = response.iterator();
-
-            while (iterator.hasNext()) {
-                switch (requireNonNull(iterator.next())) {
-                    case Signal.Value(var value) -> {
-                        final var next = requireNonNull(value);
-                        subscriber.onNext(next);
-                        --counter$[0];
-                    }
-                    case Signal.Error(var throwable) -> {
-                        iterator.forEachRemaining(this::noop);
-                        error(subscriber, throwable);
-                        return;
-                    }
-                    case Signal.Complete() -> {
-                        iterator.forEachRemaining(this::noop);
-                        complete(subscriber);
-                        return;
-                    }
-                    default -> {
-                    }
+    /**
+     * One subscriber worth of state: requests only add demand, the drain loop is the only one pulling and delivering.
+     * It is also the sink its puller writes into, allowed at most {@link #budget} more values in the pull at hand.
+     */
+    private final class Session implements Sink<T> {
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final Subscriber<? super T> subscriber;
+        private final Puller<T> puller;
+        private volatile Throwable invalid;
+        private volatile boolean done;
+        private long budget;
+
+        private Session(Subscriber<? super T> subscriber) {
+            this.puller = requireNonNull(pullerFactory.apply(drain::schedule));
+            this.subscriber = subscriber;
+        }
+
+        private void request(long n) {
+            if (0 < n) {
+                Demand.add(requested, n);
+            } else {
+                invalid = Spec303Subscription.invalidRequest(n);
+            }
+
+            drain.schedule();
+        }
+
+        private void cancel(Subscriber<? super T> ignored) {
+            done = true;
+            UnicastPullPublisherStrategy.this.cancel(subscriber);
+            drain.schedule();
+        }
+
+        private void drainLoop() {
+            if (done) {
+                return;
+            } else if (nonNull(invalid)) {
+                done = true;
+                error(subscriber, invalid);
+                return;
+            }
+
+            final var requested = this.requested.get();
+
+            // NOTE: Pull at most once per pass, requests made meanwhile schedule another one
+            if (0 != requested) {
+                budget = requested;
+                puller.pull(requested, this);
+                Demand.produced(this.requested, requested - budget);
+            }
+        }
+
+        @Override
+        public void onValue(T value) {
+            if (!done) {
+                if (0 == budget) {
+                    done = true;
+                    error(subscriber, new IllegalStateException("Puller wrote more values than requested."));
+                } else {
+                    --budget;
+                    subscriber.onNext(requireNonNull(value));
                 }
             }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                error(subscriber, requireNonNull(throwable));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                complete(subscriber);
+            }
+        }
 
-            iterator.forEachRemaining(this::noop);
+        @Override
+        public boolean isCancelled() {
+            return done;
         }
     }
 }
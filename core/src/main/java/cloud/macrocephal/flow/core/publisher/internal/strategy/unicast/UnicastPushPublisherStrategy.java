@@ -2,29 +2,41 @@ package cloud.macrocephal.flow.core.publisher.internal.strategy.unicast;
 
 import cloud.macrocephal.flow.core.Signal;
 import cloud.macrocephal.flow.core.exception.BackPressureException;
+import cloud.macrocephal.flow.core.exception.LagException;
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.BasePublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
 import cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Watermarks;
 
-import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
 import static java.math.BigInteger.ZERO;
-import static java.math.BigInteger.valueOf;
-import static java.util.Objects.*;
-import static java.util.Optional.of;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 
 public class UnicastPushPublisherStrategy<T> extends BasePublisherStrategy<T> {
     private final Consumer<BiConsumer<Signal<T>, BackPressureFeedback>> pushConsumer;
     private final BackPressureStrategy backPressureStrategy;
+    private final LongAdder resumes = new LongAdder();
+    private final LongAdder pauses = new LongAdder();
+    private final Watermarks watermarks;
     private final boolean lazy;
 
     public UnicastPushPublisherStrategy(PublisherStrategy<T> publisherStrategy) {
@@ -34,118 +46,335 @@ public class UnicastPushPublisherStrategy<T> extends BasePublisherStrategy<T> {
                 final var lazy,
                 final var capacity,
                 final var backPressureStrategy,
+                final var watermarks,
+                // NOTE: A single subscriber has no others to hold back, it gets no lane of its own
+                final var ignoredScheduler,
+                // NOTE: Nor does it have late subscribers to replay values to
+                final var ignoredReplay,
                 final var pushConsumer
         ) && 0 <= ZERO.compareTo(capacity)) {
             this.backPressureStrategy = backPressureStrategy;
             this.pushConsumer = pushConsumer;
+            this.watermarks = watermarks;
             this.lazy = lazy;
         } else {
             throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
         }
     }
 
+    /**
+     * @return how many times sources were told to pause so far, over every subscriber, which tells with
+     * {@link #resumes()} how often they toggle
+     */
+    public long pauses() {
+        return pauses.sum();
+    }
+
+    /**
+     * @return how many times sources were told to resume so far, over every subscriber
+     */
+    public long resumes() {
+        return resumes.sum();
+    }
+
     @Override
-    synchronized public void subscribe(Subscriber<? super T> subscriber) {
-        synchronized (subscriber) {
-            if (!subscribers.contains(subscriber) && subscribers.add(subscriber)) {
-                final var lazyPushBasedPublisherTriggerred = new AtomicBoolean();
-                final var active = new AtomicBoolean(true);
-                final var resume = new AtomicReference<Runnable>();
-                final var stop = new AtomicReference<Runnable>();
-                final var requested = new AtomicReference<>(ZERO);
-                subscriber.onSubscribe(new Spec303Subscription<T>(
-                        subscriber,
-                        ignored -> {
-                            synchronized (UnicastPushPublisherStrategy.this) {
-                                active.set(false);
-                                UnicastPushPublisherStrategy.this.cancel(subscriber);
-                                of(stop).map(AtomicReference::get).ifPresent(Runnable::run);
-                            }
-                        },
-                        n -> {
-                            synchronized (subscriber) {
-                                final var TO_BE_RESUMED = ZERO.equals(requested.get());
-                                requested.updateAndGet(valueOf(n)::add);
-                                if (TO_BE_RESUMED && nonNull(resume.get())) {
-                                    resume.getAndUpdate(__ -> null).run();
-                                }
-
-                                if (lazy && !lazyPushBasedPublisherTriggerred.get()) {
-                                    lazyPushBasedPublisherTriggerred.set(true);
-                                    startPushing(subscriber, requested, active, resume, stop);
-                                }
-                            }
-                        }
-                ));
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
 
-                if (!lazy) {
-                    startPushing(subscriber, requested, active, resume, stop);
-                }
+        if (subscribers.add(subscriber)) {
+            final var session = new Session(subscriber);
+            // NOTE: Requesting from onSubscribe starts lazy sources, whose values wait for onSubscribe to return
+            session.drain.enter();
+
+            try {
+                subscriber.onSubscribe(new Spec303Subscription<T>(subscriber, session::cancel, session::request));
+            } finally {
+                session.drain.leave();
+            }
+
+            if (!lazy) {
+                session.start();
             }
         }
     }
 
-    synchronized private void startPushing(Subscriber<? super T> subscriber,
-                                           AtomicReference<BigInteger> requested,
-                                           AtomicBoolean active,
-                                           AtomicReference<Runnable> resume,
-                                           AtomicReference<Runnable> stop) {
-        pushConsumer.accept((signal, feedback) -> {
-            synchronized (subscriber) {
-                if (active.get()) {
-                    ofNullable(stop.get()).orElseGet(() ->
-                            stop.updateAndGet(ignored -> isNull(feedback) ? null : feedback::stop));
-
-                    switch (requireNonNull(signal)) {
-                        case Signal.Error(var throwable) -> {
-                            active.set(false);
-                            ofNullable(stop.get()).ifPresent(ignored -> {
-                                resume.getAndUpdate(__ -> null);
-                                stop.getAndUpdate(__ -> null).run();
-                            });
-                            error(subscriber, throwable);
+    /**
+     * One subscriber worth of state. The source reserves demand before enqueuing a value, so {@link #signals} never
+     * holds more values than requested; back pressure is decided on the source thread, delivery happens in the drain
+     * loop. Under {@link BackPressureStrategy#LATEST}, the newest value pushed without demand waits in {@link #latest}
+     * instead, delivered after what was already enqueued as soon as demand comes.
+     */
+    private final class Session implements BiConsumer<Signal<T>, BackPressureFeedback> {
+        private final AtomicReference<BackPressureFeedback> feedback = new AtomicReference<>();
+        private final AtomicReference<Runnable> resume = new AtomicReference<>();
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final Queue<Signal<T>> signals = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean paused = new AtomicBoolean();
+        private final AtomicLong undelivered = new AtomicLong();
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final Subscriber<? super T> subscriber;
+        private volatile boolean active = true;
+        private volatile Throwable invalid;
+        private volatile boolean done;
+
+        private Session(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start() {
+            if (started.compareAndSet(false, true)) {
+                pushConsumer.accept(this);
+            }
+        }
+
+        private void request(long n) {
+            if (0 < n) {
+                Demand.add(requested, n);
+                tryResume();
+
+                if (nonNull(latest.get())) {
+                    drain.schedule();
+                }
+
+                if (lazy) {
+                    start();
+                }
+            } else {
+                invalid = Spec303Subscription.invalidRequest(n);
+                drain.schedule();
+            }
+        }
+
+        private void cancel(Subscriber<? super T> ignored) {
+            done = true;
+            stop();
+            UnicastPushPublisherStrategy.this.cancel(subscriber);
+            drain.schedule();
+        }
+
+        @Override
+        public void accept(Signal<T> signal, BackPressureFeedback feedback) {
+            if (active) {
+                if (nonNull(feedback)) {
+                    this.feedback.compareAndSet(null, feedback);
+                }
+
+                switch (requireNonNull(signal)) {
+                    case Signal.Error(var throwable) -> {
+                        requireNonNull(throwable);
+                        stop();
+                        terminate(signal);
+                    }
+                    case Signal.Value(var value) -> {
+                        requireNonNull(value);
+
+                        if (Demand.tryProduce(requested)) {
+                            // NOTE: Whatever value was pending is older than this one, which makes it stale
+                            latest.set(null);
+                            undelivered.incrementAndGet();
+                            emit(signal);
+                            backlogged(feedback);
+                        } else {
+                            overflow(value, feedback);
                         }
-                        case Signal.Value(var value) -> {
-                            final var next = requireNonNull(value);
-
-                            if (ZERO.equals(requested.get())) {
-                                switch (backPressureStrategy) {
-                                    case DROP -> {
-                                    }
-                                    case STOP -> {
-                                        active.set(false);
-                                        ofNullable(stop.get()).ifPresent(ignored -> {
-                                            stop.getAndUpdate(__ -> null).run();
-                                            resume.getAndUpdate(__ -> null);
-                                        });
-                                        complete(subscriber);
-                                    }
-                                    case PAUSE -> ofNullable(feedback).ifPresent(ignored -> {
-                                        resume.updateAndGet(__ -> feedback::resume);
-                                        feedback.pause();
-                                    });
-                                    case ERROR -> {
-                                        active.set(false);
-                                        ofNullable(stop.get()).ifPresent(ignored -> {
-                                            stop.getAndUpdate(__ -> null).run();
-                                            resume.getAndUpdate(__ -> null);
-                                        });
-                                        error(subscriber, new BackPressureException(this, ZERO));
-                                    }
-                                    case THROW -> throw new BackPressureException(this, ZERO);
-                                }
-                            } else {
-                                requested.updateAndGet(valueOf(-1)::add);
-                                subscriber.onNext(next);
-                            }
+                    }
+                    case Signal.Batch(var values) -> {
+                        values.forEach(Objects::requireNonNull);
+                        final var size = values.size();
+                        // NOTE: Values beyond the reserved demand overflow as one, like a single value would
+                        final var reserved = (int) Demand.tryProduce(requested, size);
+
+                        if (0 < reserved) {
+                            latest.set(null);
+                            undelivered.addAndGet(reserved);
+                            emit(reserved == size ? signal : new Signal.Batch<>(values.subList(0, reserved)));
+                            backlogged(feedback);
                         }
-                        case Signal.Complete() -> {
-                            active.set(false);
-                            complete(subscriber);
+
+                        if (reserved < size) {
+                            overflow(values.getLast(), feedback);
                         }
                     }
+                    case Signal.Complete() -> terminate(signal);
                 }
             }
-        });
+        }
+
+        private void overflow(T value, BackPressureFeedback feedback) {
+            switch (backPressureStrategy) {
+                // NOTE: Nothing is buffered ahead of demand, the value at hand is the oldest one left to drop
+                case DROP, DROP_OLDEST -> {
+                }
+                case STOP -> {
+                    stop();
+                    terminate(new Signal.Complete<>());
+                }
+                // NOTE: Values overflowing while paused already are dropped, the source is not told again
+                case PAUSE -> ofNullable(feedback).ifPresent(this::pause);
+                case ERROR -> {
+                    stop();
+                    terminate(new Signal.Error<>(new BackPressureException(UnicastPushPublisherStrategy.this, ZERO)));
+                }
+                case THROW -> throw new BackPressureException(UnicastPushPublisherStrategy.this, ZERO);
+                case EVICT_SLOWEST -> {
+                    stop();
+                    terminate(new Signal.Error<>(new LagException(subscriber, UnicastPushPublisherStrategy.this)));
+                }
+                case LATEST -> {
+                    latest.set(value);
+
+                    // NOTE: Demand may have arrived before the value was set, nobody else would deliver it
+                    if (0 < requested.get()) {
+                        drain.schedule();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Pause ahead of demand running out once {@link Watermarks#high()} accepted values wait for the subscriber to
+         * take them, the value at hand being accepted.
+         */
+        private void backlogged(BackPressureFeedback feedback) {
+            if (PAUSE == backPressureStrategy && nonNull(watermarks) && nonNull(feedback)
+                    && watermarks.high() <= undelivered.get()) {
+                pause(feedback);
+            }
+        }
+
+        private void pause(BackPressureFeedback feedback) {
+            if (paused.compareAndSet(false, true)) {
+                feedback.pause();
+                pauses.increment();
+                resume.set(feedback::resume);
+            }
+
+            // NOTE: Demand may have arrived, or values been taken, before resume was set, nobody else would resume
+            tryResume();
+        }
+
+        private void emit(Signal<T> signal) {
+            if (drain.enter()) {
+                try {
+                    if (signals.isEmpty()) {
+                        deliver(signal);
+                    } else {
+                        signals.offer(signal);
+                        drainLoop();
+                    }
+                } finally {
+                    drain.leave();
+                }
+            } else {
+                signals.offer(signal);
+                drain.schedule();
+            }
+        }
+
+        private void terminate(Signal<T> signal) {
+            active = false;
+            signals.offer(signal);
+            drain.schedule();
+        }
+
+        /**
+         * Resume once there is demand and no more than {@link Watermarks#low()} accepted values wait for the subscriber,
+         * or none at all without watermarks.
+         */
+        private void tryResume() {
+            if (0 < requested.get() && undelivered.get() <= (isNull(watermarks) ? 0 : watermarks.low())) {
+                ofNullable(resume.getAndSet(null)).ifPresent(action -> {
+                    resumes.increment();
+                    action.run();
+                    paused.set(false);
+                });
+            }
+        }
+
+        private void stop() {
+            active = false;
+            resume.set(null);
+            ofNullable(feedback.getAndSet(null)).ifPresent(BackPressureFeedback::stop);
+        }
+
+        private void drainLoop() {
+            if (!done && nonNull(invalid)) {
+                done = true;
+                stop();
+                error(subscriber, invalid);
+            }
+
+            Signal<T> signal;
+
+            while (!done && nonNull(signal = signals.peek())) {
+                // NOTE: The pending value came before completion, which waits for demand to deliver it
+                if (signal instanceof Signal.Complete<T> && !deliverLatest()) {
+                    break;
+                }
+
+                signals.poll();
+
+                switch (signal) {
+                    case Signal.Value<T> ignored -> deliver(signal);
+                    case Signal.Batch<T> ignored -> deliver(signal);
+                    case Signal.Error(var throwable) -> {
+                        done = true;
+                        error(subscriber, throwable);
+                    }
+                    case Signal.Complete() -> {
+                        done = true;
+                        complete(subscriber);
+                    }
+                }
+            }
+
+            if (!done) {
+                deliverLatest();
+            }
+
+            if (done) {
+                signals.clear();
+                latest.set(null);
+            }
+        }
+
+        /**
+         * @return whether no value is left pending, which it is if there was no demand to deliver it
+         */
+        private boolean deliverLatest() {
+            T value;
+
+            while (nonNull(value = latest.get())) {
+                if (!Demand.tryProduce(requested)) {
+                    return false;
+                }
+
+                if (latest.compareAndSet(value, null)) {
+                    subscriber.onNext(value);
+                    return true;
+                }
+
+                // NOTE: The source pushed a newer value meanwhile, or emitted one and cleared this stale one
+                Demand.add(requested, 1);
+            }
+
+            return true;
+        }
+
+        private void deliver(Signal<T> signal) {
+            if (signal instanceof Signal.Batch<T>(var values)) {
+                for (var index = 0; !done && index < values.size(); ++index) {
+                    subscriber.onNext(values.get(index));
+                    undelivered.decrementAndGet();
+                }
+            } else if (!done) {
+                subscriber.onNext(((Signal.Value<T>) signal).value());
+                undelivered.decrementAndGet();
+            }
+
+            tryResume();
+        }
     }
 }
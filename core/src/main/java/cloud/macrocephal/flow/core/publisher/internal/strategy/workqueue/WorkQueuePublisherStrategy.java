@@ -0,0 +1,387 @@
+package cloud.macrocephal.flow.core.publisher.internal.strategy.workqueue;
+
+import cloud.macrocephal.flow.core.internal.Demand;
+import cloud.macrocephal.flow.core.internal.Drain;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.BasePublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.Spec303Subscription;
+import cloud.macrocephal.flow.core.publisher.strategy.DispatchStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.WorkQueue;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.lang.Math.floorMod;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.Flow.defaultBufferSize;
+
+/**
+ * Competing subscribers over a single subscription to the source: each value is queued for exactly one worker, as
+ * {@link #dispatchStrategy} picks it, and the source is asked for no more values than workers requested, nor than
+ * {@link java.util.concurrent.Flow#defaultBufferSize()} values at once.
+ * <p>
+ * Like multicast publishers, the list of workers and the {@link #backlog} of values not dispatched yet are only
+ * touched from {@link #drainLoop()}, which only dispatches: each worker has a drain of its own, run on
+ * {@link #scheduler}, that delivers its queue to its subscriber. Round-robin and least-loaded dispatches only queue
+ * values for workers with demand left, key-hash dispatch queues them for the worker their key hashes to whatever its
+ * demand.
+ */
+public class WorkQueuePublisherStrategy<T> extends BasePublisherStrategy<T> {
+    private final Queue<Worker> arrivals = new ConcurrentLinkedQueue<>();
+    private final Queue<T> received = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Drain drain = new Drain(this::drainLoop);
+    private final List<Worker> workers = new ArrayList<>();
+    private final Deque<T> backlog = new ArrayDeque<>();
+    private final DispatchStrategy dispatchStrategy;
+    private final Function<? super T, ?> key;
+    private final Scheduler scheduler;
+    private final Publisher<T> source;
+    private volatile Subscription subscription;
+    private volatile Throwable error;
+    private volatile boolean done;
+    private boolean finished;
+    private long outstanding;
+    private int next;
+
+    public WorkQueuePublisherStrategy(PublisherStrategy<T> publisherStrategy) {
+        super(publisherStrategy);
+
+        if (publisherStrategy instanceof WorkQueue<T>(final var source, final var dispatchStrategy, final var key,
+                                                      final var scheduler)) {
+            this.source = new Swarm<>(source);
+            this.dispatchStrategy = dispatchStrategy;
+            this.scheduler = scheduler;
+            this.key = key;
+        } else {
+            throw new IllegalArgumentException("%s not accepted here.".formatted(publisherStrategy));
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
+
+        if (subscribers.add(subscriber)) {
+            final var worker = new Worker(subscriber);
+            subscriber.onSubscribe(new Spec303Subscription<T>(subscriber, ignored -> {
+                worker.cancelled = true;
+                drain.schedule();
+            }, n -> {
+                if (0 < n) {
+                    Demand.add(worker.requested, n);
+                    worker.schedule();
+                } else {
+                    worker.invalid = Spec303Subscription.invalidRequest(n);
+                }
+
+                drain.schedule();
+            }));
+            arrivals.offer(worker);
+
+            // NOTE: The source is subscribed to once, by the first worker, and kept for those to come
+            if (subscribed.compareAndSet(false, true)) {
+                source.subscribe(new Upstream());
+            }
+
+            drain.schedule();
+        }
+    }
+
+    private void drainLoop() {
+        // NOTE: Read before taking received values in, so that none received before completion is left behind
+        final var done = this.done;
+        Worker arrival;
+        T value;
+
+        while (nonNull(arrival = arrivals.poll())) {
+            workers.add(arrival);
+        }
+
+        while (nonNull(value = received.poll())) {
+            --outstanding;
+            backlog.offer(value);
+        }
+
+        reap();
+        dispatch();
+        var queued = 0L;
+
+        for (final var worker : workers) {
+            queued += worker.queued.get();
+        }
+
+        if (!finished && (nonNull(error) || done && 0 == queued && backlog.isEmpty())) {
+            finished = true;
+        }
+
+        if (finished) {
+            for (final var worker : workers) {
+                worker.terminate(error);
+            }
+
+            workers.clear();
+            backlog.clear();
+        } else {
+            request(done, queued);
+        }
+    }
+
+    /**
+     * Unregister workers that cancelled or requested an invalid amount: values queued for them go back to the backlog,
+     * ahead of those not dispatched yet.
+     */
+    private void reap() {
+        for (final var iterator = workers.iterator(); iterator.hasNext(); ) {
+            final var worker = iterator.next();
+
+            if (worker.cancelled || nonNull(worker.invalid)) {
+                iterator.remove();
+                final var taken = new ArrayList<T>();
+
+                for (T value; nonNull(value = worker.queue.poll()); ) {
+                    worker.queued.decrementAndGet();
+                    taken.add(value);
+                }
+
+                for (final var value : taken.reversed()) {
+                    backlog.offerFirst(value);
+                }
+
+                if (worker.cancelled) {
+                    cancel(worker.subscriber);
+                } else {
+                    // NOTE: Its own drain signals the invalid request, after whatever value it is delivering
+                    worker.schedule();
+                }
+            }
+        }
+    }
+
+    private void dispatch() {
+        while (!backlog.isEmpty() && !workers.isEmpty() && isNull(error)) {
+            final var worker = switch (dispatchStrategy) {
+                case ROUND_ROBIN -> nextWithDemand();
+                case LEAST_LOADED -> mostDemanding();
+                case KEY_HASH -> hashed(backlog.peek());
+            };
+
+            if (nonNull(worker)) {
+                worker.queued.incrementAndGet();
+                worker.queue.offer(backlog.poll());
+                worker.schedule();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the worker {@code value}'s key hashes to, or none if the key threw, which errors the whole work queue
+     */
+    private Worker hashed(T value) {
+        try {
+            return workers.get(floorMod(Objects.hashCode(key.apply(value)), workers.size()));
+        } catch (Throwable throwable) {
+            error = throwable;
+            done = true;
+            ofNullable(subscription).ifPresent(Subscription::cancel);
+            return null;
+        }
+    }
+
+    /**
+     * @return the first worker with demand left after the last one picked, if any
+     */
+    private Worker nextWithDemand() {
+        for (int offset = 0; offset < workers.size(); ++offset) {
+            final var index = (next + offset) % workers.size();
+
+            if (0 < workers.get(index).unqueued()) {
+                next = (index + 1) % workers.size();
+                return workers.get(index);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the worker with the most demand left, if any
+     */
+    private Worker mostDemanding() {
+        Worker target = null;
+
+        for (final var worker : workers) {
+            if (0 < worker.unqueued() && (isNull(target) || target.unqueued() < worker.unqueued())) {
+                target = worker;
+            }
+        }
+
+        return target;
+    }
+
+    /**
+     * Ask the source for what workers requested beyond values queued, in the backlog or already asked for.
+     */
+    private void request(boolean done, long queued) {
+        final var subscription = this.subscription;
+
+        if (nonNull(subscription) && !done) {
+            var wanted = -(long) backlog.size() - outstanding;
+
+            for (final var worker : workers) {
+                wanted += min(max(0, worker.unqueued()), defaultBufferSize());
+            }
+
+            wanted = min(wanted, defaultBufferSize() - queued - backlog.size() - outstanding);
+
+            if (0 < wanted) {
+                outstanding += wanted;
+                subscription.request(wanted);
+            }
+        }
+    }
+
+    /**
+     * One subscriber and the values queued for it. The dispatching drain is the only producer of {@link #queue}, this
+     * worker's drain its consumer, except once it is reaped: the dispatching drain then takes back what is left.
+     */
+    private final class Worker {
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private final Drain drain = new Drain(this::drainLoop);
+        private final Subscriber<? super T> subscriber;
+        private volatile Throwable invalid;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private volatile boolean done;
+        private boolean finished;
+
+        private Worker(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * @return how much of its demand no value was queued for yet, negative when more values wait for it
+         */
+        private long unqueued() {
+            return requested.get() - queued.get();
+        }
+
+        private void schedule() {
+            drain.schedule(scheduler);
+        }
+
+        /**
+         * Deliver what is queued then complete, or error right away if {@code failure} is set.
+         */
+        private void terminate(Throwable failure) {
+            this.failure = failure;
+            done = true;
+            schedule();
+        }
+
+        private void drainLoop() {
+            if (finished) {
+                return;
+            } else if (cancelled) {
+                finished = true;
+                return;
+            } else if (nonNull(invalid)) {
+                finished = true;
+                error(subscriber, invalid);
+                return;
+            }
+
+            // NOTE: Done is set after the last value was queued, so it has to be read before the queue
+            final var done = this.done;
+            var delivered = false;
+
+            while (isNull(failure) && !cancelled && 0 < requested.get()) {
+                final var value = queue.poll();
+
+                if (isNull(value)) {
+                    break;
+                }
+
+                Demand.produced(requested, 1);
+                queued.decrementAndGet();
+                delivered = true;
+                subscriber.onNext(value);
+            }
+
+            if (done && !cancelled && (nonNull(failure) || queue.isEmpty())) {
+                finished = true;
+                queue.clear();
+
+                if (nonNull(failure)) {
+                    error(subscriber, failure);
+                } else {
+                    complete(subscriber);
+                }
+            } else if (delivered) {
+                // NOTE: Values delivered make room for others to be requested from the source
+                WorkQueuePublisherStrategy.this.drain.schedule();
+            }
+        }
+    }
+
+    private final class Upstream implements Subscriber<T> {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            WorkQueuePublisherStrategy.this.subscription = requireNonNull(subscription);
+
+            // NOTE: A key may have thrown before the source even subscribed
+            if (nonNull(error)) {
+                subscription.cancel();
+            } else {
+                drain.schedule();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            received.offer(requireNonNull(item));
+            drain.schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            requireNonNull(throwable);
+
+            if (!done) {
+                error = throwable;
+                done = true;
+            }
+
+            drain.schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain.schedule();
+        }
+    }
+}
@@ -6,4 +6,7 @@ public enum BackPressureStrategy {
     THROW,
     DROP,
     STOP,
+    DROP_OLDEST,
+    EVICT_SLOWEST,
+    LATEST,
 }
@@ -0,0 +1,7 @@
+package cloud.macrocephal.flow.core.publisher.strategy;
+
+public enum DispatchStrategy {
+    ROUND_ROBIN,
+    LEAST_LOADED,
+    KEY_HASH,
+}
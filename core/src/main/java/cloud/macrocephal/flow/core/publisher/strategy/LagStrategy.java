@@ -4,4 +4,6 @@ public enum LagStrategy {
     THROW,
     ERROR,
     DROP,
+    DROP_OLDEST,
+    EVICT_SLOWEST,
 }
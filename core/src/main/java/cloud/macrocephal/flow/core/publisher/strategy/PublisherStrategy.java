@@ -1,27 +1,69 @@
 package cloud.macrocephal.flow.core.publisher.strategy;
 
 import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
 import java.util.function.*;
 import java.util.stream.Stream;
 
 import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.DispatchStrategy.KEY_HASH;
+import static cloud.macrocephal.flow.core.publisher.strategy.DispatchStrategy.ROUND_ROBIN;
 import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
 import static java.math.BigInteger.valueOf;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Flow.defaultBufferSize;
 
 @SuppressWarnings("unused")
-public sealed interface PublisherStrategy<T> permits PublisherStrategy.Push, PublisherStrategy.Pull {
+public sealed interface PublisherStrategy<T> permits PublisherStrategy.Push, PublisherStrategy.Pull,
+        PublisherStrategy.PullInto, PublisherStrategy.AsyncPull, PublisherStrategy.WorkQueue {
+    /**
+     * When {@link #prefetch()} is set, multicast publishers pull in batches ahead of demand, see {@link Prefetch}. When
+     * {@link #replay()} is set, they replay recent values to subscribers arriving later, see {@link Replay}.
+     */
     record Pull<T>(BigInteger capacity,
                    LagStrategy lagStrategy,
+                   Prefetch prefetch,
+                   Replay replay,
                    Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory) implements PublisherStrategy<T> {
         public Pull {
             requireNonNull(lagStrategy);
             requireNonNull(pullerFactory);
         }
 
+        public Pull(long capacity,
+                    LagStrategy lagStrategy,
+                    Prefetch prefetch,
+                    Replay replay,
+                    Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, prefetch, replay, pullerFactory);
+        }
+
+        public Pull(BigInteger capacity,
+                    LagStrategy lagStrategy,
+                    Prefetch prefetch,
+                    Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory) {
+            this(capacity, lagStrategy, prefetch, null, pullerFactory);
+        }
+
+        public Pull(long capacity,
+                    LagStrategy lagStrategy,
+                    Prefetch prefetch,
+                    Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, prefetch, pullerFactory);
+        }
+
+        public Pull(BigInteger capacity,
+                    LagStrategy lagStrategy,
+                    Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory) {
+            this(capacity, lagStrategy, null, pullerFactory);
+        }
+
         public Pull(long capacity,
                     LagStrategy lagStrategy,
                     Supplier<LongFunction<Stream<Signal<T>>>> pullerFactory) {
@@ -38,15 +80,140 @@ public sealed interface PublisherStrategy<T> permits PublisherStrategy.Push, Pub
         }
     }
 
+    /**
+     * Like {@link Pull}, except that pullers write values straight into a {@link Sink} reused across pulls, instead of
+     * returning a {@link Stream} of {@link Signal}s per request.
+     */
+    record PullInto<T>(BigInteger capacity,
+                       LagStrategy lagStrategy,
+                       Prefetch prefetch,
+                       Replay replay,
+                       Supplier<Puller<T>> pullerFactory) implements PublisherStrategy<T> {
+        public PullInto {
+            requireNonNull(lagStrategy);
+            requireNonNull(pullerFactory);
+        }
+
+        public PullInto(long capacity,
+                        LagStrategy lagStrategy,
+                        Prefetch prefetch,
+                        Replay replay,
+                        Supplier<Puller<T>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, prefetch, replay, pullerFactory);
+        }
+
+        public PullInto(BigInteger capacity,
+                        LagStrategy lagStrategy,
+                        Prefetch prefetch,
+                        Supplier<Puller<T>> pullerFactory) {
+            this(capacity, lagStrategy, prefetch, null, pullerFactory);
+        }
+
+        public PullInto(long capacity, LagStrategy lagStrategy, Prefetch prefetch, Supplier<Puller<T>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, prefetch, pullerFactory);
+        }
+
+        public PullInto(BigInteger capacity, LagStrategy lagStrategy, Supplier<Puller<T>> pullerFactory) {
+            this(capacity, lagStrategy, null, pullerFactory);
+        }
+
+        public PullInto(long capacity, LagStrategy lagStrategy, Supplier<Puller<T>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, pullerFactory);
+        }
+
+        public PullInto(LagStrategy lagStrategy, Supplier<Puller<T>> pullerFactory) {
+            this(defaultBufferSize(), lagStrategy, pullerFactory);
+        }
+
+        public PullInto(Supplier<Puller<T>> pullerFactory) {
+            this(ERROR, pullerFactory);
+        }
+    }
+
+    /**
+     * Like {@link Pull}, except that pullers return a {@link CompletionStage} of the {@link Stream} of {@link Signal}s
+     * they would otherwise compute in place, so that no request waits on their I/O. Up to {@link #maxInFlight()} pulls
+     * are pending at once, each asking for the demand no earlier one covers; their signals are delivered in the order
+     * pulls were made, whatever order they complete in. Complete a stage with fewer values than asked only if more are
+     * coming: the demand left is pulled again right away.
+     */
+    record AsyncPull<T>(BigInteger capacity,
+                        LagStrategy lagStrategy,
+                        int maxInFlight,
+                        Replay replay,
+                        Supplier<LongFunction<CompletionStage<Stream<Signal<T>>>>> pullerFactory)
+            implements PublisherStrategy<T> {
+        public AsyncPull {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("Max in flight must be > 0. Given: %d".formatted(maxInFlight));
+            }
+
+            requireNonNull(lagStrategy);
+            requireNonNull(pullerFactory);
+        }
+
+        public AsyncPull(long capacity,
+                         LagStrategy lagStrategy,
+                         int maxInFlight,
+                         Replay replay,
+                         Supplier<LongFunction<CompletionStage<Stream<Signal<T>>>>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, maxInFlight, replay, pullerFactory);
+        }
+
+        public AsyncPull(long capacity,
+                         LagStrategy lagStrategy,
+                         int maxInFlight,
+                         Supplier<LongFunction<CompletionStage<Stream<Signal<T>>>>> pullerFactory) {
+            this(valueOf(capacity), lagStrategy, maxInFlight, null, pullerFactory);
+        }
+
+        public AsyncPull(LagStrategy lagStrategy,
+                         Supplier<LongFunction<CompletionStage<Stream<Signal<T>>>>> pullerFactory) {
+            this(defaultBufferSize(), lagStrategy, 1, pullerFactory);
+        }
+
+        public AsyncPull(Supplier<LongFunction<CompletionStage<Stream<Signal<T>>>>> pullerFactory) {
+            this(ERROR, pullerFactory);
+        }
+    }
+
+    /**
+     * When {@link #scheduler()} is set, multicast publishers deliver to each subscriber through a lane of its own,
+     * drained on that scheduler: a slow subscriber then only holds back itself, and {@link #backPressureStrategy()}
+     * applies to whichever lane is full. When {@link #watermarks()} are set, {@link BackPressureStrategy#PAUSE} pauses
+     * and resumes the source with hysteresis. When {@link #replay()} is set, multicast publishers replay recent values
+     * to subscribers arriving later. Those three are left unset by the shorter constructors, and set one at a time by
+     * {@link #withScheduler(Scheduler)}, {@link #withWatermarks(Watermarks)} and {@link #withReplay(Replay)}.
+     */
     record Push<T>(boolean lazy,
                    BigInteger capacity,
                    BackPressureStrategy backPressureStrategy,
+                   Watermarks watermarks,
+                   Scheduler scheduler,
+                   Replay replay,
                    Consumer<BiConsumer<Signal<T>, BackPressureFeedback>> pushConsumer) implements PublisherStrategy<T> {
         public Push {
             requireNonNull(pushConsumer);
             requireNonNull(backPressureStrategy);
         }
 
+        public Push(boolean lazy,
+                    long capacity,
+                    BackPressureStrategy backPressureStrategy,
+                    Watermarks watermarks,
+                    Scheduler scheduler,
+                    Replay replay,
+                    Consumer<BiConsumer<Signal<T>, BackPressureFeedback>> pushConsumer) {
+            this(lazy, valueOf(capacity), backPressureStrategy, watermarks, scheduler, replay, pushConsumer);
+        }
+
+        public Push(boolean lazy,
+                    BigInteger capacity,
+                    BackPressureStrategy backPressureStrategy,
+                    Consumer<BiConsumer<Signal<T>, BackPressureFeedback>> pushConsumer) {
+            this(lazy, capacity, backPressureStrategy, null, null, null, pushConsumer);
+        }
+
         public Push(boolean lazy,
                     long capacity,
                     BackPressureStrategy backPressureStrategy,
@@ -63,6 +230,140 @@ public sealed interface PublisherStrategy<T> permits PublisherStrategy.Push, Pub
         public Push(boolean lazy, Consumer<BiConsumer<Signal<T>, BackPressureFeedback>> pushConsumer) {
             this(lazy, PAUSE, pushConsumer);
         }
+
+        public Push<T> withWatermarks(Watermarks watermarks) {
+            return new Push<>(lazy, capacity, backPressureStrategy, watermarks, scheduler, replay, pushConsumer);
+        }
+
+        public Push<T> withScheduler(Scheduler scheduler) {
+            return new Push<>(lazy, capacity, backPressureStrategy, watermarks, scheduler, replay, pushConsumer);
+        }
+
+        public Push<T> withReplay(Replay replay) {
+            return new Push<>(lazy, capacity, backPressureStrategy, watermarks, scheduler, replay, pushConsumer);
+        }
+    }
+
+    /**
+     * Subscribe once to a publisher of {@link #source()}, whatever its capacity, and hand each of its values to exactly
+     * one subscriber with demand, as {@link #dispatchStrategy()} picks it: subscribers compete for values like workers
+     * for the jobs of a queue. {@link DispatchStrategy#KEY_HASH} hands values with equal {@link #key()}s to the same
+     * subscriber, as long as subscribers do not come and go. Each subscriber gets its values on {@link #scheduler()},
+     * on its own, so that a slow one holds back no other; the shorter constructors use {@link Scheduler#forkJoin()}.
+     */
+    record WorkQueue<T>(PublisherStrategy<T> source,
+                        DispatchStrategy dispatchStrategy,
+                        Function<? super T, ?> key,
+                        Scheduler scheduler) implements PublisherStrategy<T> {
+        public WorkQueue {
+            requireNonNull(source);
+            requireNonNull(scheduler);
+            requireNonNull(dispatchStrategy);
+
+            if (KEY_HASH == dispatchStrategy && isNull(key)) {
+                throw new IllegalArgumentException("%s needs a key.".formatted(dispatchStrategy));
+            }
+        }
+
+        public WorkQueue(PublisherStrategy<T> source, DispatchStrategy dispatchStrategy, Function<? super T, ?> key) {
+            this(source, dispatchStrategy, key, Scheduler.forkJoin());
+        }
+
+        public WorkQueue(PublisherStrategy<T> source, DispatchStrategy dispatchStrategy) {
+            this(source, dispatchStrategy, null);
+        }
+
+        public WorkQueue(PublisherStrategy<T> source, Function<? super T, ?> key) {
+            this(source, KEY_HASH, key);
+        }
+
+        public WorkQueue(PublisherStrategy<T> source) {
+            this(source, ROUND_ROBIN);
+        }
+
+        public WorkQueue<T> withScheduler(Scheduler scheduler) {
+            return new WorkQueue<>(source, dispatchStrategy, key, scheduler);
+        }
+    }
+
+    @FunctionalInterface
+    interface Puller<T> {
+        /**
+         * Write at most {@code n} values into {@code sink}, possibly followed by a terminal signal. Writing fewer
+         * values without terminating means nothing is available for now: the puller is called again on next request.
+         */
+        void pull(long n, Sink<? super T> sink);
+    }
+
+    interface Sink<T> {
+        void onValue(T value);
+        void onError(Throwable throwable);
+        void onComplete();
+
+        /**
+         * @return whether values are no longer wanted, so that the puller may stop before writing all {@code n} of them
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * Pause once {@link #high()} values are buffered, resume only once no more than {@link #low()} are, so that a
+     * source near capacity does not flap between both. Unicast publishers buffer nothing ahead of demand, values they
+     * accepted only wait for the subscriber to take them: they pause once {@link #high()} values wait, or when a value
+     * comes without demand, and resume once there is demand and no more than {@link #low()} values wait. Push
+     * publisher strategies count their pauses and resumes, which tells how often the source toggles.
+     */
+    record Watermarks(long low, long high) {
+        public Watermarks {
+            if (low < 0 || high <= low) {
+                throw new IllegalArgumentException("Watermarks must be 0 <= low < high. Given: %d, %d"
+                        .formatted(low, high));
+            }
+        }
+    }
+
+    /**
+     * Pull {@link #batch()} values at a time into the buffer shared by subscribers, instead of as many as each request
+     * asks for, so that one puller call serves many small requests. The next batch is pulled once a subscriber that
+     * consumes or awaits values has fewer than {@link #replenish()} of them left ahead, before it runs dry. A batch
+     * never exceeds the room left in the buffer.
+     */
+    record Prefetch(long batch, long replenish) {
+        public Prefetch {
+            if (replenish < 1 || batch < replenish) {
+                throw new IllegalArgumentException("Prefetch must be 1 <= replenish <= batch. Given: %d, %d"
+                        .formatted(replenish, batch));
+            }
+        }
+
+        public Prefetch(long batch) {
+            this(batch, 1);
+        }
+    }
+
+    /**
+     * Keep the last {@link #size()} values, only those published within {@link #age()} when set, for subscribers
+     * arriving later: they are delivered those first, then live values, without gap nor duplicate. Replayed values are
+     * the very copies live subscribers read, and do not count towards capacity.
+     */
+    record Replay(long size, Duration age) {
+        public Replay {
+            if (size < 1) {
+                throw new IllegalArgumentException("Replay size must be > 0. Given: %d".formatted(size));
+            }
+
+            if (nonNull(age) && (age.isNegative() || age.isZero())) {
+                throw new IllegalArgumentException("Replay age must be > 0. Given: %s".formatted(age));
+            }
+        }
+
+        public Replay(long size) {
+            this(size, null);
+        }
+
+        public Replay(Duration age) {
+            this(Long.MAX_VALUE, requireNonNull(age));
+        }
     }
 
     interface BackPressureFeedback {
@@ -0,0 +1,61 @@
+package cloud.macrocephal.flow.core.scheduler;
+
+import cloud.macrocephal.flow.core.scheduler.internal.ExecutorScheduler;
+import cloud.macrocephal.flow.core.scheduler.internal.ImmediateScheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Where operators such as {@code subscribeOn} and {@code publishOn} run their work. Operators never submit two
+ * tasks of the same subscription concurrently, so implementations need not serialize tasks themselves.
+ */
+public interface Scheduler extends Executor, AutoCloseable {
+    @Override
+    void execute(Runnable task);
+
+    /**
+     * Stop accepting new tasks, those already accepted still run.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Run tasks on the calling thread.
+     */
+    static Scheduler immediate() {
+        return new ImmediateScheduler();
+    }
+
+    /**
+     * Run each task on a new virtual thread: fit for blocking pullers and subscribers.
+     */
+    static Scheduler virtualThreads() {
+        return new ExecutorScheduler(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Run tasks on the common {@link ForkJoinPool}, which closing leaves running: fit for short CPU-bound work.
+     */
+    static Scheduler forkJoin() {
+        return new ExecutorScheduler(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Run tasks on {@code parallelism} daemon platform threads: fit for CPU-bound work.
+     */
+    static Scheduler fixedPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be > 0. Given: %d".formatted(parallelism));
+        }
+
+        return new ExecutorScheduler(Executors.newFixedThreadPool(
+                parallelism, Thread.ofPlatform().daemon().name("flow-fixed-", 0).factory()));
+    }
+
+    static Scheduler fixedPool() {
+        return fixedPool(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,23 @@
+package cloud.macrocephal.flow.core.scheduler.internal;
+
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+import java.util.concurrent.ExecutorService;
+
+import static java.util.Objects.requireNonNull;
+
+public record ExecutorScheduler(ExecutorService executorService) implements Scheduler {
+    public ExecutorScheduler {
+        requireNonNull(executorService);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executorService.execute(task);
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+}
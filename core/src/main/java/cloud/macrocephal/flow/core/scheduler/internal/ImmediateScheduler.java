@@ -0,0 +1,10 @@
+package cloud.macrocephal.flow.core.scheduler.internal;
+
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+
+public record ImmediateScheduler() implements Scheduler {
+    @Override
+    public void execute(Runnable task) {
+        task.run();
+    }
+}
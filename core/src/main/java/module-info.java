@@ -5,4 +5,5 @@ module cloud.macrocephal.flow.core {
     exports cloud.macrocephal.flow.core.operator;
     exports cloud.macrocephal.flow.core.publisher;
     exports cloud.macrocephal.flow.core.publisher.strategy;
+    exports cloud.macrocephal.flow.core.scheduler;
 }
@@ -0,0 +1,142 @@
+package test.cloud.macrocephal.flow.core;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.DROP;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.math.BigInteger.ZERO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SignalBatchTest extends FlowPublisherVerification<Long> {
+    private static final int BATCH = 5;
+
+    public SignalBatchTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void unicast_pull_split_batches_across_requests() {
+        final var subscriber = new Recorder();
+        batches(ZERO, 12).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L);
+
+        subscriber.subscription.request(4);
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.values).hasSize(12);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void multicast_pull_share_batches_between_subscribers() {
+        final var swarm = batches(null, 7);
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+
+        first.subscription.request(2);
+        second.subscription.request(Long.MAX_VALUE);
+        first.subscription.request(Long.MAX_VALUE);
+
+        assertThat(first.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(second.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(first.completed).isTrue();
+        assertThat(second.completed).isTrue();
+    }
+
+    @Test
+    void unicast_push_deliver_the_demanded_part_of_a_batch() {
+        final var subscriber = new Recorder();
+        new Swarm<>(new Push<Long>(true, 0, DROP, target -> {
+            target.accept(new Signal.Batch<>(List.of(0L, 1L, 2L, 3L)), null);
+            target.accept(new Signal.Batch<>(List.of(4L, 5L)), null);
+            target.accept(new Signal.Complete<>(), null);
+        })).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return batches(ZERO, elements);
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)));
+    }
+
+    /**
+     * Values from {@code 0} up to {@code elements}, in batches of {@link #BATCH} whatever the demand.
+     */
+    private static Swarm<Long> batches(BigInteger capacity, long elements) {
+        return new Swarm<>(new Pull<Long>(capacity, ERROR, () -> {
+            final var pulled = new AtomicLong();
+            return ignored -> {
+                final var from = pulled.get();
+                final var to = Math.min(elements, from + BATCH);
+                pulled.set(to);
+                return Stream.concat(
+                        Stream.of(new Signal.Batch<>(LongStream.range(from, to).boxed().toList())),
+                        Stream.<Signal<Long>>of(new Signal.Complete<>()).filter(unused -> elements == to));
+            };
+        }));
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
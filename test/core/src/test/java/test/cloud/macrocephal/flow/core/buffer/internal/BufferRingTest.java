@@ -0,0 +1,72 @@
+package test.cloud.macrocephal.flow.core.buffer.internal;
+
+import cloud.macrocephal.flow.core.buffer.Buffer;
+import cloud.macrocephal.flow.core.buffer.internal.BufferDefault;
+import cloud.macrocephal.flow.core.buffer.internal.BufferRing;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+
+import static cloud.macrocephal.flow.core.buffer.internal.BufferRing.MAXIMUM_CAPACITY;
+import static java.math.BigInteger.*;
+import static java.util.Objects.isNull;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BufferRingTest extends BufferDefaultTest {
+    @Override
+    protected <T> Buffer<T> buffer(BigInteger capacity) {
+        return new BufferRing<>(isNull(capacity) ? valueOf(MAXIMUM_CAPACITY) : capacity);
+    }
+
+    @Test
+    void of_pick_ring_when_capacity_fits_in_an_int() {
+        assertThat(Buffer.of(ZERO)).isInstanceOf(BufferRing.class);
+        assertThat(Buffer.of(valueOf(7))).isInstanceOf(BufferRing.class);
+        assertThat(Buffer.of(valueOf(MAXIMUM_CAPACITY))).isInstanceOf(BufferRing.class);
+        assertThat(Buffer.of(valueOf(MAXIMUM_CAPACITY).add(ONE))).isInstanceOf(BufferDefault.class);
+        assertThat(Buffer.of(null)).isInstanceOf(BufferDefault.class);
+    }
+
+    @Test
+    void from_copy_ring_without_sharing_slots() {
+        final var buffer = Buffer.<Integer>of(valueOf(3));
+        range(0, 3).forEachOrdered(buffer::add);
+        final var copy = Buffer.from(buffer);
+        copy.remove(1);
+        assertThat(copy).containsExactly(0, 2);
+        assertThat(buffer).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void add_after_head_removal_wrap_around_ring() {
+        final var buffer = Buffer.<Integer>of(valueOf(4));
+        range(0, 4).forEachOrdered(buffer::add);
+
+        for (int next = 4; next < 64; ++next) {
+            final var iterator = buffer.iterator();
+            iterator.next();
+            iterator.remove();
+            iterator.forEachRemaining(ignored -> {
+            });
+            assertThat(buffer.add(next)).isTrue();
+            assertThat(buffer.add(next)).isFalse();
+        }
+
+        assertThat(buffer).containsExactly(60, 61, 62, 63);
+    }
+
+    @Test
+    void remove_shift_ring_from_either_side() {
+        final var buffer = Buffer.<Integer>of(valueOf(8));
+        range(0, 8).forEachOrdered(buffer::add);
+        buffer.remove(1);
+        buffer.remove(6);
+        assertThat(buffer).containsExactly(0, 2, 3, 4, 5, 7);
+        assertThat(buffer.size()).isEqualTo(valueOf(6));
+        assertThat(buffer.add(8)).isTrue();
+        assertThat(buffer.add(9)).isTrue();
+        assertThat(buffer.add(10)).isFalse();
+        assertThat(buffer).containsExactly(0, 2, 3, 4, 5, 7, 8, 9);
+    }
+}
@@ -0,0 +1,59 @@
+package test.cloud.macrocephal.flow.core.internal;
+
+import cloud.macrocephal.flow.core.internal.Counter;
+import org.testng.annotations.Test;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.Long.MIN_VALUE;
+import static java.math.BigInteger.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CounterTest {
+    @Test
+    void start_at_zero() {
+        assertThat(new Counter().isZero()).isTrue();
+        assertThat(new Counter().toBigInteger()).isEqualTo(ZERO);
+    }
+
+    @Test
+    void increment_past_long_max_value_switch_to_big_integer() {
+        final var counter = new Counter(MAX_VALUE).increment();
+        assertThat(counter.toBigInteger()).isEqualTo(valueOf(MAX_VALUE).add(ONE));
+        assertThat(counter.compareTo(MAX_VALUE)).isPositive();
+        assertThat(counter.saturatedLongValue()).isEqualTo(MAX_VALUE);
+    }
+
+    @Test
+    void decrement_below_long_max_value_switch_back_to_long() {
+        final var counter = new Counter(MAX_VALUE).add(MAX_VALUE).subtract(MAX_VALUE);
+        assertThat(counter.toBigInteger()).isEqualTo(valueOf(MAX_VALUE));
+        assertThat(counter.compareTo(MAX_VALUE)).isZero();
+    }
+
+    @Test
+    void subtract_long_min_value_does_not_overflow() {
+        assertThat(new Counter().subtract(MIN_VALUE).toBigInteger()).isEqualTo(valueOf(MIN_VALUE).negate());
+    }
+
+    @Test
+    void decrement_below_long_min_value_switch_to_big_integer() {
+        final var counter = new Counter(MIN_VALUE).decrement();
+        assertThat(counter.toBigInteger()).isEqualTo(valueOf(MIN_VALUE).subtract(ONE));
+        assertThat(counter.signum()).isNegative();
+        assertThat(counter.saturatedLongValue()).isZero();
+    }
+
+    @Test
+    void compare_to_null_as_unbounded() {
+        assertThat(new Counter(MAX_VALUE).add(TEN.pow(40)).compareTo(null)).isNegative();
+    }
+
+    @Test
+    void compare_to_big_integer() {
+        final var huge = TWO.pow(100);
+        assertThat(new Counter(huge).isEqualTo(huge)).isTrue();
+        assertThat(new Counter(7).isEqualTo(valueOf(7))).isTrue();
+        assertThat(new Counter(7).compareTo(huge)).isNegative();
+        assertThat(new Counter(huge).compareTo(valueOf(7))).isPositive();
+    }
+}
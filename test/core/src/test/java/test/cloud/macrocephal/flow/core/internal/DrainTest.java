@@ -0,0 +1,95 @@
+package test.cloud.macrocephal.flow.core.internal;
+
+import cloud.macrocephal.flow.core.internal.Drain;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class DrainTest {
+    @Test
+    void schedule_from_the_loop_rerun_it_instead_of_recursing() {
+        final var depth = new AtomicInteger();
+        final var maxDepth = new AtomicInteger();
+        final var runs = new AtomicInteger();
+        final var drain = new AtomicReference<Drain>();
+        drain.set(new Drain(() -> {
+            maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+
+            if (runs.incrementAndGet() < 100) {
+                drain.get().schedule();
+            }
+
+            depth.decrementAndGet();
+        }));
+
+        drain.get().schedule();
+
+        assertThat(runs).hasValue(100);
+        assertThat(maxDepth).hasValue(1);
+    }
+
+    @Test
+    void schedule_while_another_thread_drain_do_not_block() throws InterruptedException {
+        final var entered = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var runs = new AtomicInteger();
+        final var drain = new Drain(() -> {
+            if (1 == runs.incrementAndGet()) {
+                entered.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    throw new RuntimeException(exception);
+                }
+            }
+        });
+        final var drainer = Thread.ofPlatform().start(drain::schedule);
+
+        assertThat(entered.await(5, SECONDS)).isTrue();
+        drain.schedule();
+        drain.schedule();
+        assertThat(runs).hasValue(1);
+
+        release.countDown();
+        drainer.join();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void enter_fail_while_draining_and_leave_run_missed_schedules() {
+        final var runs = new AtomicInteger();
+        final var drain = new Drain(runs::incrementAndGet);
+
+        assertThat(drain.enter()).isTrue();
+        assertThat(drain.enter()).isFalse();
+        drain.schedule();
+        assertThat(runs).hasValue(0);
+
+        drain.leave();
+        assertThat(runs).hasValue(1);
+        assertThat(drain.enter()).isTrue();
+        drain.leave();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void throwing_loop_can_be_scheduled_again() {
+        final var runs = new AtomicInteger();
+        final var drain = new Drain(() -> {
+            if (1 == runs.incrementAndGet()) {
+                throw new IllegalStateException();
+            }
+        });
+
+        assertThrows(IllegalStateException.class, drain::schedule);
+        drain.schedule();
+        assertThat(runs).hasValue(2);
+    }
+}
@@ -0,0 +1,82 @@
+package test.cloud.macrocephal.flow.core.internal;
+
+import cloud.macrocephal.flow.core.internal.Registry;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RegistryTest {
+    @Test
+    void reject_duplicates() {
+        final var registry = new Registry<String>();
+
+        assertThat(registry.add("a")).isTrue();
+        assertThat(registry.add("a")).isFalse();
+        assertThat(registry.contains("a")).isTrue();
+        assertThat(registry.snapshot()).containsExactly("a");
+    }
+
+    @Test
+    void remove_only_registered_elements() {
+        final var registry = new Registry<String>();
+        registry.add("a");
+
+        assertThat(registry.remove("b")).isFalse();
+        assertThat(registry.remove("a")).isTrue();
+        assertThat(registry.isEmpty()).isTrue();
+        assertThat(registry.snapshot()).isEmpty();
+    }
+
+    @Test
+    void snapshots_are_unaffected_by_later_changes() {
+        final var registry = new Registry<String>();
+        registry.add("a");
+        registry.add("b");
+        final var snapshot = registry.snapshot();
+
+        registry.remove("a");
+        registry.add("c");
+
+        assertThat(snapshot).containsExactlyInAnyOrder("a", "b");
+        assertThat(registry.snapshot()).containsExactlyInAnyOrder("b", "c");
+        assertThat(registry.snapshot()).isSameAs(registry.snapshot());
+    }
+
+    @Test
+    void keep_up_with_concurrent_churn() throws InterruptedException {
+        final var registry = new Registry<Integer>();
+        final var threads = 4;
+        final var perThread = 10_000;
+        final var done = new CountDownLatch(threads);
+        final var snapshots = new ArrayList<Integer>();
+
+        for (int thread = 0; thread < threads; ++thread) {
+            final var from = thread * perThread;
+            Thread.ofPlatform().start(() -> {
+                IntStream.range(from, from + perThread).forEach(value -> {
+                    registry.add(value);
+
+                    // NOTE: Odd values come and go, even ones stay
+                    if (1 == value % 2) {
+                        registry.remove(value);
+                    }
+                });
+                done.countDown();
+            });
+        }
+
+        while (0 < done.getCount()) {
+            snapshots.add(registry.snapshot().size());
+            Thread.yield();
+        }
+
+        assertThat(done.await(10, SECONDS)).isTrue();
+        assertThat(registry.snapshot()).hasSize(threads * perThread / 2).allMatch(value -> 0 == value % 2);
+        assertThat(snapshots).allMatch(size -> size <= threads * perThread);
+    }
+}
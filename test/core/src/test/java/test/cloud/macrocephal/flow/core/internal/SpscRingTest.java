@@ -0,0 +1,72 @@
+package test.cloud.macrocephal.flow.core.internal;
+
+import cloud.macrocephal.flow.core.internal.SpscRing;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class SpscRingTest {
+    @Test
+    void offer_refuse_values_beyond_capacity_even_if_not_a_power_of_two() {
+        final var ring = new SpscRing<Integer>(3);
+        assertThat(ring.offer(1)).isTrue();
+        assertThat(ring.offer(2)).isTrue();
+        assertThat(ring.offer(3)).isTrue();
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.poll()).isEqualTo(1);
+        assertThat(ring.offer(4)).isTrue();
+    }
+
+    @Test
+    void poll_return_values_in_offer_order_then_null() {
+        final var ring = new SpscRing<Integer>(2);
+        for (int value = 0; value < 10; ++value) {
+            ring.offer(value);
+            assertThat(ring.poll()).isEqualTo(value);
+        }
+
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void capacity_must_be_positive() {
+        assertThrows(IllegalArgumentException.class, () -> new SpscRing<>(0));
+    }
+
+    @Test
+    void hand_values_over_from_one_thread_to_another_in_order() throws InterruptedException {
+        final var ring = new SpscRing<Integer>(16);
+        final var received = new ArrayList<Integer>();
+        final var done = new CountDownLatch(1);
+        Thread.ofPlatform().start(() -> {
+            while (received.size() < 100_000) {
+                final var value = ring.poll();
+
+                if (null != value) {
+                    received.add(value);
+                } else {
+                    Thread.yield();
+                }
+            }
+
+            done.countDown();
+        });
+
+        for (int value = 0; value < 100_000; ) {
+            if (ring.offer(value)) {
+                ++value;
+            } else {
+                Thread.yield();
+            }
+        }
+
+        assertThat(done.await(10, SECONDS)).isTrue();
+        assertThat(received).isSorted().hasSize(100_000);
+    }
+}
@@ -0,0 +1,150 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Single;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.concatMap;
+import static cloud.macrocephal.flow.core.operator.Operator.limit;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.util.Collections.newSetFromMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcatMapOperatorTest extends FlowPublisherVerification<Long> {
+    public ConcatMapOperatorTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void keep_upstream_order_with_a_subscriber_per_inner_publisher() {
+        final Set<Subscriber<?>> inners = newSetFromMap(new IdentityHashMap<>());
+        final var values = new ArrayList<Long>();
+        Swarm.of(List.of(1L, 2L, 3L))
+                .pipe(concatMap((Long value) -> (Publisher<Long>) subscriber -> {
+                    inners.add(subscriber);
+                    Swarm.of(List.of(value, value * 10)).subscribe(subscriber);
+                }, 2))
+                .subscribe(new Recorder(values));
+
+        assertThat(values).containsExactly(1L, 10L, 2L, 20L, 3L, 30L, 0L);
+        assertThat(inners).hasSize(3);
+    }
+
+    @Test
+    void subscribe_again_to_inner_publishers_keeping_former_subscribers() {
+        // NOTE: Like a registry, this publisher ignores subscribers it already has, even once it completed them
+        final Set<Subscriber<?>> registered = newSetFromMap(new IdentityHashMap<>());
+        final Publisher<Long> inner = subscriber -> {
+            if (registered.add(subscriber)) {
+                Single.of(7L).subscribe(subscriber);
+            }
+        };
+        final var values = new ArrayList<Long>();
+        Swarm.of(List.of(1L, 2L)).pipe(concatMap((Long ignored) -> inner, 2)).subscribe(new Recorder(values));
+
+        assertThat(values).containsExactly(7L, 7L, 0L);
+    }
+
+    @Test
+    void prefetch_a_bounded_amount_of_upstream_values() {
+        final var demands = new CopyOnWriteArrayList<Long>();
+        final var pulled = new AtomicLong();
+        naturals(demands, pulled).pipe(concatMap(Single::of, 8)).subscribe(new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(7);
+            }
+
+            @Override
+            public void onNext(Long item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat(demands).containsExactly(8L, 6L);
+        assertThat(pulled).hasValue(14);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return naturals(new CopyOnWriteArrayList<>(), new AtomicLong())
+                .pipe(limit(BigInteger.valueOf(elements)))
+                .pipe(concatMap(Single::of, 2));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(concatMap(Single::of));
+    }
+
+    private static Swarm<Long> naturals(List<Long> demands, AtomicLong pulled) {
+        return new Swarm<>(new Pull<Long>(0, ERROR, () -> n -> {
+            demands.add(n);
+            return Stream.<Signal<Long>>generate(() -> new Signal.Value<>(pulled.getAndIncrement())).limit(n);
+        }));
+    }
+
+    /**
+     * Record every value, then {@code 0} on completion.
+     */
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values;
+
+        private Recorder(List<Long> values) {
+            this.values = values;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            values.add(0L);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Single;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.flatMap;
+import static cloud.macrocephal.flow.core.operator.Operator.limit;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlatMapOperatorTest extends FlowPublisherVerification<Long> {
+    public FlatMapOperatorTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void subscribe_to_at_most_max_concurrency_inners_at_a_time() {
+        final var demands = new CopyOnWriteArrayList<Long>();
+        final var subscribed = new AtomicInteger();
+        final var recorder = new Recorder(Long.MAX_VALUE);
+        naturals(demands, new AtomicLong())
+                .pipe(flatMap((Long ignored) -> new Swarm<>(new Push<Long>(true, 0, PAUSE, target ->
+                        subscribed.incrementAndGet())), 3, 4))
+                .subscribe(recorder);
+
+        assertThat(demands).containsExactly(3L);
+        assertThat(subscribed).hasValue(3);
+    }
+
+    @Test
+    void never_deliver_more_than_requested_nor_prefetch_more_than_asked() {
+        final var innerDemands = new CopyOnWriteArrayList<Long>();
+        final var recorder = new Recorder(5);
+        naturals(new CopyOnWriteArrayList<>(), new AtomicLong())
+                .pipe(flatMap((Long value) -> naturals(innerDemands, new AtomicLong(value * 100)), 2, 4))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).hasSize(5);
+        assertThat(innerDemands).allMatch(demand -> demand <= 4);
+        assertThat(recorder.completed).isFalse();
+    }
+
+    @Test
+    void complete_once_upstream_and_every_inner_completed() {
+        final var recorder = new Recorder(Long.MAX_VALUE);
+        Swarm.of(List.of(1L, 2L, 3L))
+                .pipe(flatMap((Long value) -> Swarm.of(List.of(value, value * 10)), 2, 1))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactlyInAnyOrder(1L, 10L, 2L, 20L, 3L, 30L);
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    void keep_merging_inners_completing_out_of_order() {
+        final var targets = new ArrayList<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var recorder = new Recorder(Long.MAX_VALUE);
+        Swarm.of(List.of(0L, 1L, 2L, 3L))
+                .pipe(flatMap((Long ignored) -> new Swarm<>(new Push<Long>(false, 0, PAUSE, targets::add)), 4, 2))
+                .subscribe(recorder);
+
+        for (final var index : List.of(1, 3, 0, 2)) {
+            targets.get(index).accept(new Signal.Value<>((long) index), null);
+            targets.get(index).accept(new Signal.Complete<>(), null);
+            assertThat(recorder.completed).isEqualTo(2 == index);
+        }
+
+        assertThat(recorder.values).containsExactly(1L, 3L, 0L, 2L);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return naturals(new CopyOnWriteArrayList<>(), new AtomicLong())
+                .pipe(limit(BigInteger.valueOf(elements)))
+                .pipe(flatMap(Single::of, 4, 2));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(flatMap(Single::of));
+    }
+
+    private static Swarm<Long> naturals(List<Long> demands, AtomicLong pulled) {
+        return new Swarm<>(new Pull<Long>(0, ERROR, () -> n -> {
+            demands.add(n);
+            return Stream.<Signal<Long>>generate(() -> new Signal.Value<>(pulled.getAndIncrement())).limit(n);
+        }));
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private boolean completed;
+        private final long request;
+
+        private Recorder(long request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(request);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.filter;
+import static cloud.macrocephal.flow.core.operator.Operator.limit;
+import static cloud.macrocephal.flow.core.operator.Operator.map;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FusedPublisherTest extends FlowPublisherVerification<Long> {
+    public FusedPublisherTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void apply_steps_in_order_and_request_again_what_they_drop() {
+        final var pulled = new AtomicLong();
+        final var recorder = new Recorder(1);
+        naturals(pulled)
+                .pipe(map((Long value) -> value * 3))
+                .pipe(filter((Long value) -> 0 == value % 2))
+                .pipe(limit(BigInteger.valueOf(4)))
+                .pipe(map((Long value) -> -value))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactly(0L, -6L, -12L, -18L);
+        assertThat(recorder.completed).isTrue();
+        assertThat(pulled).hasValue(7);
+    }
+
+    @Test
+    void complete_once_limit_was_reached_even_if_later_steps_drop_the_last_value() {
+        final var pulled = new AtomicLong();
+        final var recorder = new Recorder(1);
+        naturals(pulled)
+                .pipe(limit(BigInteger.valueOf(4)))
+                .pipe(filter((Long value) -> 3 != value))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactly(0L, 1L, 2L);
+        assertThat(recorder.completed).isTrue();
+        assertThat(pulled).hasValue(4);
+    }
+
+    @Test
+    void signal_error_and_cancel_when_a_step_throws() {
+        final var recorder = new Recorder(Long.MAX_VALUE);
+        final var failure = new IllegalStateException("Boom!");
+        naturals(new AtomicLong())
+                .pipe(map((Long value) -> {
+                    if (2 == value) {
+                        throw failure;
+                    }
+
+                    return value;
+                }))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactly(0L, 1L);
+        assertThat(recorder.error).isSameAs(failure);
+    }
+
+    @Test
+    void signal_null_pointer_exception_when_a_map_returns_null() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var recorder = new Recorder(Long.MAX_VALUE);
+        new Swarm<>(new Push<Long>(false, 0, PAUSE, target::set))
+                .pipe(map((Long value) -> 1 == value ? null : value))
+                .subscribe(recorder);
+        target.get().accept(new Signal.Value<>(0L), null);
+        target.get().accept(new Signal.Value<>(1L), null);
+
+        assertThat(recorder.values).containsExactly(0L);
+        assertThat(recorder.error).isInstanceOf(NullPointerException.class);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return naturals(new AtomicLong())
+                .pipe(filter((Long value) -> 0 == value % 2))
+                .pipe(map((Long value) -> value / 2))
+                .pipe(limit(BigInteger.valueOf(elements)));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(map((Long value) -> value));
+    }
+
+    private static Swarm<Long> naturals(AtomicLong pulled) {
+        return new Swarm<>(new Pull<Long>(0, ERROR, () -> n ->
+                Stream.<Signal<Long>>generate(() -> new Signal.Value<>(pulled.getAndIncrement())).limit(n)));
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+        private final long batch;
+
+        private Recorder(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            (this.subscription = subscription).request(batch);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
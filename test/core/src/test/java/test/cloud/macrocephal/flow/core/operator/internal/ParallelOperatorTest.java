@@ -0,0 +1,119 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.map;
+import static cloud.macrocephal.flow.core.operator.Operator.parallel;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelOperatorTest extends FlowPublisherVerification<Long> {
+    private static final Scheduler SCHEDULER = Scheduler.virtualThreads();
+
+    public ParallelOperatorTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @AfterClass
+    void afterClass() {
+        SCHEDULER.close();
+    }
+
+    @Test
+    void map_values_on_every_rail_then_merge_them_all() throws InterruptedException {
+        final var threads = ConcurrentHashMap.<String>newKeySet();
+        final var values = new CopyOnWriteArrayList<Long>();
+        final var completed = new CountDownLatch(1);
+
+        try (final var scheduler = Scheduler.fixedPool(4)) {
+            source(1_000).pipe(parallel(4, scheduler, 8))
+                    .pipe(map((Long value) -> {
+                        threads.add(Thread.currentThread().getName());
+                        return -value;
+                    }))
+                    .sequential()
+                    .subscribe(new Subscriber<>() {
+                        private Subscription subscription;
+
+                        @Override
+                        public void onSubscribe(Subscription subscription) {
+                            (this.subscription = subscription).request(3);
+                        }
+
+                        @Override
+                        public void onNext(Long item) {
+                            values.add(item);
+                            subscription.request(1);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {
+                        }
+
+                        @Override
+                        public void onComplete() {
+                            completed.countDown();
+                        }
+                    });
+
+            assertThat(completed.await(5, SECONDS)).isTrue();
+            assertThat(values).containsExactlyInAnyOrderElementsOf(LongStream.range(0, 1_000).map(value -> -value)
+                    .boxed().toList());
+            assertThat(threads).hasSizeGreaterThan(1).allMatch(name -> name.startsWith("flow-fixed-"));
+        }
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return source(elements).pipe(parallel(4, SCHEDULER, 4)).pipe(map(Function.<Long>identity())).sequential();
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(parallel(4, SCHEDULER, 4)).sequential();
+    }
+
+    private static Swarm<Long> source(long elements) {
+        return new Swarm<>(new Pull<Long>(0, ERROR, () -> {
+            final var pulled = new AtomicLong();
+            return n -> {
+                final var from = pulled.get();
+                final var to = elements - from <= n ? elements : from + n;
+                pulled.set(to);
+                return Stream.concat(
+                        LongStream.range(from, to).mapToObj(Signal.Value::new),
+                        Stream.<Signal<Long>>of(new Signal.Complete<>()).filter(ignored -> elements == to));
+            };
+        }));
+    }
+}
@@ -0,0 +1,101 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.publishOn;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PublishOnOperatorTest extends FlowPublisherVerification<Long> {
+    private static final Scheduler SCHEDULER = Scheduler.virtualThreads();
+
+    public PublishOnOperatorTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @AfterClass
+    void afterClass() {
+        SCHEDULER.close();
+    }
+
+    @Test
+    void deliver_values_on_scheduler_threads() throws InterruptedException {
+        final var threads = new CopyOnWriteArrayList<String>();
+        final var completed = new CountDownLatch(1);
+
+        try (final var scheduler = Scheduler.fixedPool(1)) {
+            Swarm.of(List.of(1L, 2L, 3L, 4L, 5L)).pipe(publishOn(scheduler, 2)).subscribe(new Subscriber<>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(Long item) {
+                    threads.add(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+
+            assertThat(completed.await(5, SECONDS)).isTrue();
+            assertThat(threads).hasSize(5).containsOnly("flow-fixed-0");
+        }
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return new Swarm<>(new Pull<Long>(0, ERROR, () -> {
+            final var pulled = new AtomicLong();
+            return n -> {
+                final var from = pulled.get();
+                final var to = elements - from <= n ? elements : from + n;
+                pulled.set(to);
+                return Stream.concat(
+                        LongStream.range(from, to).mapToObj(Signal.Value::new),
+                        Stream.<Signal<Long>>of(new Signal.Complete<>()).filter(ignored -> elements == to));
+            };
+        })).pipe(publishOn(SCHEDULER, 4));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(publishOn(SCHEDULER, 4));
+    }
+}
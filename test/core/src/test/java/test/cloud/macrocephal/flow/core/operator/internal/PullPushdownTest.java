@@ -0,0 +1,183 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.limit;
+import static cloud.macrocephal.flow.core.operator.Operator.map;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.DROP;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.lang.Long.MAX_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PullPushdownTest extends FlowPublisherVerification<Long> {
+    public PullPushdownTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void limit_shrink_demand_handed_to_the_puller() {
+        final var demands = new CopyOnWriteArrayList<Long>();
+        final var computed = new AtomicLong();
+        final var recorder = new Recorder();
+        naturals(demands, computed)
+                .pipe(map((Long value) -> value * 2))
+                .pipe(limit(BigInteger.valueOf(3)))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactly(0L, 2L, 4L);
+        assertThat(recorder.completed).isTrue();
+        assertThat(demands).containsExactly(3L);
+        assertThat(computed).hasValue(3);
+    }
+
+    @Test
+    void signal_error_when_a_pushed_down_mapper_throws() {
+        final var failure = new IllegalStateException("Boom!");
+        final var recorder = new Recorder();
+        naturals(new CopyOnWriteArrayList<>(), new AtomicLong())
+                .pipe(map((Long value) -> {
+                    if (2 == value) {
+                        throw failure;
+                    }
+
+                    return value;
+                }))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactly(0L, 1L);
+        assertThat(recorder.error).isSameAs(failure);
+    }
+
+    @Test
+    void signal_error_when_a_pushed_down_mapper_returns_null() {
+        final var recorder = new Recorder();
+        naturals(new CopyOnWriteArrayList<>(), new AtomicLong())
+                .pipe(map((Long value) -> 2 == value ? null : value))
+                .subscribe(recorder);
+
+        assertThat(recorder.values).containsExactly(0L, 1L);
+        assertThat(recorder.error).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void push_down_into_values_swarms_for_every_subscriber() {
+        final var mapped = Swarm.of(List.of(1L, 2L, 3L)).pipe(map((Long value) -> value * 10));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        mapped.subscribe(first);
+        mapped.subscribe(second);
+
+        assertThat(first.values).containsExactly(10L, 20L, 30L);
+        assertThat(first.completed).isTrue();
+        assertThat(second.values).containsExactly(10L, 20L, 30L);
+        assertThat(second.completed).isTrue();
+    }
+
+    @Test
+    void keep_multicast_sources_shared_by_every_subscriber() {
+        final var factories = new AtomicLong();
+        final var next = new AtomicLong();
+        final var limited = new Swarm<>(new Pull<Long>(16, DROP, () -> {
+            factories.incrementAndGet();
+            return n -> Stream.<Signal<Long>>generate(() -> new Signal.Value<>(next.getAndIncrement())).limit(n);
+        })).pipe(limit(BigInteger.valueOf(3)));
+        final var first = new Recorder(0);
+        final var second = new Recorder(0);
+        limited.subscribe(first);
+        limited.subscribe(second);
+
+        first.subscription.request(3);
+        second.subscription.request(3);
+
+        assertThat(first.values).containsExactly(0L, 1L, 2L);
+        assertThat(first.completed).isTrue();
+        assertThat(second.values).containsExactly(0L, 1L, 2L);
+        assertThat(second.completed).isTrue();
+        assertThat(factories).hasValue(1);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return naturals(new CopyOnWriteArrayList<>(), new AtomicLong())
+                .pipe(map((Long value) -> value + 1))
+                .pipe(limit(BigInteger.valueOf(elements)));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(limit(BigInteger.TEN));
+    }
+
+    private static Swarm<Long> naturals(List<Long> demands, AtomicLong computed) {
+        return new Swarm<>(new Pull<Long>(0, ERROR, () -> n -> {
+            demands.add(n);
+            return Stream.<Signal<Long>>generate(() -> new Signal.Value<>(computed.getAndIncrement())).limit(n);
+        }));
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private final long initial;
+        private boolean completed;
+        private Throwable error;
+
+        private Recorder() {
+            this(MAX_VALUE);
+        }
+
+        private Recorder(long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+
+            if (0 < initial) {
+                subscription.request(initial);
+            }
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package test.cloud.macrocephal.flow.core.operator.internal;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Single;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.limit;
+import static cloud.macrocephal.flow.core.operator.Operator.switchMap;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SwitchMapOperatorTest extends FlowPublisherVerification<Long> {
+    public SwitchMapOperatorTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void deliver_only_the_latest_inner_values_and_cancel_previous_ones() {
+        final Map<Long, Subscriber<? super Long>> inners = new ConcurrentHashMap<>();
+        final List<Long> cancelled = new ArrayList<>();
+        final var values = new ArrayList<Long>();
+        Swarm.of(List.of(1L, 2L, 3L))
+                .pipe(switchMap((Long value) -> (Publisher<Long>) subscriber -> {
+                    inners.put(value, subscriber);
+                    subscriber.onSubscribe(new Subscription() {
+                        @Override
+                        public void request(long n) {
+                        }
+
+                        @Override
+                        public void cancel() {
+                            cancelled.add(value);
+                        }
+                    });
+                }, 4))
+                .subscribe(new Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(Long item) {
+                        values.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        values.add(0L);
+                    }
+                });
+
+        inners.get(1L).onNext(10L);
+        inners.get(3L).onNext(30L);
+        inners.get(2L).onNext(20L);
+        inners.get(3L).onComplete();
+
+        assertThat(cancelled).containsExactly(1L, 2L);
+        assertThat(values).containsExactly(30L, 0L);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        // NOTE: Upstream values switch away from inners immediately, so a single one carries every element
+        return Single.of(elements).pipe(switchMap((Long count) -> new Swarm<>(new Pull<Long>(0, ERROR, () -> {
+            final var pulled = new AtomicLong();
+            return n -> Stream.<Signal<Long>>generate(() -> new Signal.Value<>(pulled.getAndIncrement())).limit(n);
+        })).pipe(limit(BigInteger.valueOf(count))), 2));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)))
+                .pipe(switchMap(Single::of));
+    }
+}
@@ -0,0 +1,181 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.AsyncPull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class AsyncPullTest extends FlowPublisherVerification<Long> {
+    private static final Executor EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AsyncPullTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void async_pull_require_at_least_one_pull_in_flight() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncPull<Long>(0, ERROR, 0, () -> n -> null));
+    }
+
+    @Test
+    void deliver_in_the_order_pulls_were_made() {
+        final var pulls = new Pulls();
+        final var subscriber = new Recorder();
+        new Swarm<>(new AsyncPull<>(0, ERROR, 2, () -> pulls)).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        subscriber.subscription.request(3);
+        assertThat(pulls.asked).containsExactly(2L, 3L);
+
+        pulls.stages.get(1).complete(values(2, 5));
+        assertThat(subscriber.values).isEmpty();
+
+        pulls.stages.get(0).complete(values(0, 2));
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void coalesce_requests_made_while_pulls_are_in_flight() {
+        final var pulls = new Pulls();
+        final var subscriber = new Recorder();
+        new Swarm<>(new AsyncPull<>(0, ERROR, 1, () -> pulls)).subscribe(subscriber);
+
+        for (var index = 0; index < 5; ++index) {
+            subscriber.subscription.request(1);
+        }
+
+        assertThat(pulls.asked).containsExactly(1L);
+
+        pulls.stages.getFirst().complete(values(0, 1));
+        assertThat(subscriber.values).containsExactly(0L);
+        assertThat(pulls.asked).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void multicast_share_pulled_values_between_subscribers() {
+        final var pulls = new Pulls();
+        final var swarm = new Swarm<>(new AsyncPull<>(8, ERROR, 2, () -> pulls));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+
+        first.subscription.request(3);
+        second.subscription.request(3);
+        pulls.stages.getFirst().complete(Stream.concat(values(0, 3), Stream.<Signal<Long>>of(new Signal.Complete<>())));
+
+        assertThat(first.values).containsExactly(0L, 1L, 2L);
+        assertThat(second.values).containsExactly(0L, 1L, 2L);
+        assertThat(first.completed).isTrue();
+        assertThat(second.completed).isTrue();
+    }
+
+    @Test
+    void error_with_the_cause_a_pull_failed_with() {
+        final var pulls = new Pulls();
+        final var subscriber = new Recorder();
+        final var failure = new IllegalStateException("Boom!");
+        new Swarm<>(new AsyncPull<>(0, ERROR, 1, () -> pulls)).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        pulls.stages.getFirst().completeExceptionally(failure);
+
+        assertThat(subscriber.error).isSameAs(failure);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return new Swarm<>(new AsyncPull<Long>(0, ERROR, 2, () -> {
+            final var next = new long[1];
+            return n -> {
+                final var from = next[0];
+                next[0] = Math.min(elements, from + n);
+                final Stream<Signal<Long>> signals = next[0] == elements
+                        ? Stream.concat(values(from, next[0]), Stream.<Signal<Long>>of(new Signal.Complete<>()))
+                        : values(from, next[0]);
+                return CompletableFuture.supplyAsync(() -> signals, EXECUTOR);
+            };
+        }));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)));
+    }
+
+    private static Stream<Signal<Long>> values(long from, long to) {
+        return LongStream.range(from, to).mapToObj(Signal.Value::new);
+    }
+
+    /**
+     * Pulls completed by hand, recording how many values each asked for.
+     */
+    private static final class Pulls implements LongFunction<CompletionStage<Stream<Signal<Long>>>> {
+        private final List<CompletableFuture<Stream<Signal<Long>>>> stages = new ArrayList<>();
+        private final List<Long> asked = new ArrayList<>();
+
+        @Override
+        public CompletionStage<Stream<Signal<Long>>> apply(long n) {
+            final var stage = new CompletableFuture<Stream<Signal<Long>>>();
+            stages.add(stage);
+            asked.add(n);
+            return stage;
+        }
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
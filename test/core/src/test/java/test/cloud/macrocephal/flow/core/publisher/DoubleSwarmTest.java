@@ -0,0 +1,131 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.publisher.DoubleSwarm;
+import cloud.macrocephal.flow.core.publisher.DoubleSwarm.DoubleSubscriber;
+import cloud.macrocephal.flow.core.publisher.LongSwarm;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+
+import static java.lang.Long.MAX_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DoubleSwarmTest extends FlowPublisherVerification<Double> {
+    public DoubleSwarmTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void deliver_unboxed_values_to_double_subscribers() {
+        final var values = new ArrayList<Double>();
+        DoubleSwarm.of(1.5, 2.5, 4).map(value -> value * 2).subscribe(new DoubleSubscriber() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(double item) {
+                values.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat(values).containsExactly(3D, 5D, 8D);
+    }
+
+    @Test
+    void reduce_and_convert() {
+        final var sum = new Recorder<Double>();
+        final var min = new Recorder<Double>();
+        final var counting = new Recorder<Long>();
+        final var truncated = new Recorder<Long>();
+        DoubleSwarm.of(0.5, -1, 3.25).sum().subscribe(sum);
+        DoubleSwarm.of(0.5, -1, 3.25).filter(value -> 0 < value).min().subscribe(min);
+        DoubleSwarm.of(0.5, -1, 3.25).counting().subscribe(counting);
+        DoubleSwarm.of(0.5, -1, 3.25).mapToLong(value -> (long) value).subscribe(truncated);
+
+        List.of(sum, min, counting, truncated).forEach(recorder -> recorder.subscription.request(MAX_VALUE));
+
+        assertThat(sum.values).containsExactly(2.75);
+        assertThat(min.values).containsExactly(0.5);
+        assertThat(counting.values).containsExactly(1L, 2L, 3L);
+        assertThat(truncated.values).containsExactly(0L, -1L, 3L);
+        assertThat(truncated.completed).isTrue();
+    }
+
+    @Test
+    void signal_mapper_failures() {
+        final var recorder = new Recorder<Double>();
+        DoubleSwarm.of(1, 0).map(value -> {
+            if (0 == value) {
+                throw new IllegalStateException();
+            }
+
+            return 1 / value;
+        }).subscribe(recorder);
+
+        recorder.subscription.request(MAX_VALUE);
+
+        assertThat(recorder.values).containsExactly(1D);
+        assertThat(recorder.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Override
+    public Publisher<Double> createFlowPublisher(long elements) {
+        return LongSwarm.range(0, elements).mapToDouble(value -> value / 2D);
+    }
+
+    @Override
+    public Publisher<Double> createFailedFlowPublisher() {
+        // NOTE: Pullers only get to fail once pulled, which needs a request
+        return null;
+    }
+
+    private static final class Recorder<T> implements Subscriber<T> {
+        private final List<T> values = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
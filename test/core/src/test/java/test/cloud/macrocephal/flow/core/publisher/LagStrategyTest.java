@@ -0,0 +1,204 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.exception.LagException;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.LagStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static java.lang.Long.MAX_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One subscriber lags behind another one on a publisher retaining at most two values.
+ */
+public class LagStrategyTest {
+    @Test
+    void pull_drop_oldest_have_laggards_skip_the_oldest_values() {
+        final var slow = new Recorder();
+        final var fast = new Recorder();
+        pulling(LagStrategy.DROP_OLDEST, slow, fast);
+
+        slow.subscription.request(2);
+
+        assertThat(fast.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(slow.values).containsExactly(3L, 4L);
+        assertThat(slow.error).isNull();
+    }
+
+    @Test
+    void pull_evict_slowest_error_laggards_alone() {
+        final var slow = new Recorder();
+        final var fast = new Recorder();
+        pulling(LagStrategy.EVICT_SLOWEST, slow, fast);
+
+        assertThat(fast.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(fast.error).isNull();
+        assertThat(slow.values).isEmpty();
+        assertThat(slow.error).isInstanceOf(LagException.class);
+        assertThat(((LagException) slow.error).getSubscriber()).isSameAs(slow);
+    }
+
+    @Test
+    void pull_error_error_every_subscriber() {
+        final var slow = new Recorder();
+        final var fast = new Recorder();
+        pulling(LagStrategy.ERROR, slow, fast);
+
+        slow.subscription.request(2);
+
+        assertThat(fast.values).containsExactly(0L, 1L, 2L);
+        assertThat(fast.error).isInstanceOf(LagException.class);
+        assertThat(slow.values).containsExactly(0L, 1L);
+        assertThat(slow.error).isInstanceOf(LagException.class);
+    }
+
+    @Test
+    void push_drop_oldest_have_laggards_skip_the_oldest_values() {
+        final var slow = new Recorder();
+        final var fast = new Recorder();
+        pushing(BackPressureStrategy.DROP_OLDEST, slow, fast);
+
+        slow.subscription.request(MAX_VALUE);
+
+        assertThat(fast.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(slow.values).containsExactly(3L, 4L);
+        assertThat(slow.completed).isTrue();
+    }
+
+    @Test
+    void push_evict_slowest_error_laggards_alone() {
+        final var slow = new Recorder();
+        final var fast = new Recorder();
+        pushing(BackPressureStrategy.EVICT_SLOWEST, slow, fast);
+
+        assertThat(fast.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(fast.completed).isTrue();
+        assertThat(slow.error).isInstanceOf(LagException.class);
+    }
+
+    @Test
+    void unicast_push_evict_slowest_error_its_only_subscriber() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var subscriber = new Recorder();
+        new Swarm<>(new Push<Long>(false, 0, BackPressureStrategy.EVICT_SLOWEST, target::set)).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        target.get().accept(new Signal.Value<>(0L), null);
+        target.get().accept(new Signal.Value<>(1L), null);
+
+        assertThat(subscriber.values).containsExactly(0L);
+        assertThat(subscriber.error).isInstanceOf(LagException.class);
+    }
+
+    @Test
+    void push_latest_keep_only_the_newest_value_for_laggards() {
+        final var slow = new Recorder();
+        final var fast = new Recorder();
+        pushing(BackPressureStrategy.LATEST, slow, fast);
+
+        assertThat(fast.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(fast.completed).isTrue();
+        assertThat(slow.completed).isFalse();
+
+        slow.subscription.request(MAX_VALUE);
+
+        assertThat(slow.values).containsExactly(2L, 3L, 4L);
+        assertThat(slow.completed).isTrue();
+    }
+
+    @Test
+    void unicast_push_latest_deliver_the_newest_value_before_completing() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var subscriber = new Recorder();
+        new Swarm<>(new Push<Long>(false, 0, BackPressureStrategy.LATEST, target::set)).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        for (long value = 0; value < 4; ++value) {
+            target.get().accept(new Signal.Value<>(value), null);
+        }
+
+        target.get().accept(new Signal.Complete<>(), null);
+
+        assertThat(subscriber.values).containsExactly(0L);
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.values).containsExactly(0L, 3L);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    /**
+     * {@code fast} requests five values, pulled while {@code slow} requested none.
+     */
+    private static void pulling(LagStrategy lagStrategy, Recorder slow, Recorder fast) {
+        final var swarm = new Swarm<>(new PullInto<Long>(2, lagStrategy, () -> {
+            final var next = new long[1];
+            return (n, sink) -> {
+                for (long index = 0; index < n && !sink.isCancelled(); ++index) {
+                    sink.onValue(next[0]++);
+                }
+            };
+        }));
+        swarm.subscribe(slow);
+        swarm.subscribe(fast);
+
+        fast.subscription.request(5);
+    }
+
+    /**
+     * Five values are pushed, then completion, while {@code slow} requested none.
+     */
+    private static void pushing(BackPressureStrategy backPressureStrategy, Recorder slow, Recorder fast) {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new Push<Long>(false, 2, backPressureStrategy, target::set));
+        swarm.subscribe(slow);
+        swarm.subscribe(fast);
+        fast.subscription.request(MAX_VALUE);
+
+        for (long value = 0; value < 5; ++value) {
+            target.get().accept(new Signal.Value<>(value), null);
+        }
+
+        target.get().accept(new Signal.Complete<>(), null);
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.publisher.LongSwarm;
+import cloud.macrocephal.flow.core.publisher.LongSwarm.LongSubscriber;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+
+import static java.lang.Long.MAX_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongSwarmTest extends FlowPublisherVerification<Long> {
+    private static final int VALUES = 1 << 16;
+    private static final int BATCH = 16;
+
+    public LongSwarmTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void filter_honour_demand_at_value_granularity() {
+        final var recorder = new Recorder();
+        LongSwarm.range(0, 100).filter(value -> 0 == value % 3).subscribe(recorder);
+
+        recorder.subscription.request(5);
+
+        assertThat(recorder.values).containsExactly(0L, 3L, 6L, 9L, 12L);
+        assertThat(recorder.completed).isFalse();
+    }
+
+    @Test
+    void map_filter_and_sum() {
+        final var recorder = new Recorder();
+        LongSwarm.range(0, 10).filter(value -> 0 == value % 2).map(value -> value * value).sum().subscribe(recorder);
+
+        recorder.subscription.request(1);
+
+        assertThat(recorder.values).containsExactly(120L);
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    void signal_sum_overflow() {
+        final var recorder = new Recorder();
+        LongSwarm.of(MAX_VALUE, 1).sum().subscribe(recorder);
+
+        recorder.subscription.request(1);
+
+        assertThat(recorder.values).isEmpty();
+        assertThat(recorder.error).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void min_max_and_counting() {
+        final var min = new Recorder();
+        final var max = new Recorder();
+        final var empty = new Recorder();
+        final var counting = new Recorder();
+        LongSwarm.of(4, -2, 9, 0).min().subscribe(min);
+        LongSwarm.of(4, -2, 9, 0).max().subscribe(max);
+        LongSwarm.empty().max().subscribe(empty);
+        LongSwarm.of(4, -2, 9).counting().subscribe(counting);
+
+        List.of(min, max, empty, counting).forEach(recorder -> recorder.subscription.request(MAX_VALUE));
+
+        assertThat(min.values).containsExactly(-2L);
+        assertThat(max.values).containsExactly(9L);
+        assertThat(empty.values).isEmpty();
+        assertThat(empty.completed).isTrue();
+        assertThat(counting.values).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void long_subscribers_do_not_allocate_per_value() {
+        final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final var thread = Thread.currentThread().threadId();
+        final var swarm = LongSwarm.range(0, VALUES).map(value -> value * 31).filter(value -> 0 != value % 7);
+        var allocated = 0L;
+
+        // NOTE: Only the last round counts, earlier ones warm the JIT up
+        for (int round = 0; round < 3; ++round) {
+            final var before = threads.getThreadAllocatedBytes(thread);
+
+            swarm.subscribe(new LongSubscriber() {
+                private Subscription subscription;
+                private int received;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(BATCH);
+                }
+
+                @Override
+                public void onNext(long item) {
+                    if (0 == ++received % BATCH) {
+                        subscription.request(BATCH);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+
+            allocated = threads.getThreadAllocatedBytes(thread) - before;
+        }
+
+        System.err.printf("Bytes allocated per value: %.2f%n", (double) allocated / VALUES);
+        assertThat((double) allocated / VALUES).isLessThan(1);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return LongSwarm.range(0, elements);
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        // NOTE: Pullers only get to fail once pulled, which needs a request
+        return null;
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Prefetch;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.stream.LongStream;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class PrefetchTest {
+    @Test
+    void prefetch_require_replenish_within_batch() {
+        assertThrows(IllegalArgumentException.class, () -> new Prefetch(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Prefetch(4, 5));
+    }
+
+    @Test
+    void small_requests_from_many_subscribers_share_batched_pulls() {
+        final var pulls = new ArrayList<Long>();
+        final var swarm = swarm(32, new Prefetch(8, 2), pulls);
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+
+        for (var index = 0; index < 16; ++index) {
+            first.subscription.request(1);
+            second.subscription.request(1);
+        }
+
+        final var expected = LongStream.range(0, 16).boxed().toList();
+        assertThat(first.values).containsExactlyElementsOf(expected);
+        assertThat(second.values).containsExactlyElementsOf(expected);
+        assertThat(pulls).hasSizeLessThanOrEqualTo(3).containsOnly(8L);
+    }
+
+    @Test
+    void next_batch_is_pulled_before_values_run_out() {
+        final var pulls = new ArrayList<Long>();
+        final var subscriber = new Recorder();
+        swarm(32, new Prefetch(8, 2), pulls).subscribe(subscriber);
+
+        subscriber.subscription.request(6);
+        assertThat(pulls).containsExactly(8L);
+
+        subscriber.subscription.request(1);
+        assertThat(pulls).containsExactly(8L, 8L);
+        assertThat(subscriber.values).containsExactlyElementsOf(LongStream.range(0, 7).boxed().toList());
+    }
+
+    @Test
+    void batches_never_exceed_the_room_left() {
+        final var pulls = new ArrayList<Long>();
+        final var subscriber = new Recorder();
+        final var swarm = swarm(4, new Prefetch(8), pulls);
+        swarm.subscribe(subscriber);
+        swarm.subscribe(new Recorder());
+
+        subscriber.subscription.request(3);
+
+        assertThat(pulls).containsExactly(4L);
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L);
+    }
+
+    /**
+     * An endless source of increasing values, recording how many each call to its puller asked for.
+     */
+    private static Swarm<Long> swarm(long capacity, Prefetch prefetch, List<Long> pulls) {
+        return new Swarm<>(new PullInto<Long>(capacity, ERROR, prefetch, () -> {
+            final var next = new long[1];
+            return (n, sink) -> {
+                pulls.add(n);
+
+                for (long index = 0; index < n && !sink.isCancelled(); ++index) {
+                    sink.onValue(next[0]++);
+                }
+            };
+        }));
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PullIntoTest extends FlowPublisherVerification<Long> {
+    private static final Long VALUE = 1_000L;
+    private static final int VALUES = 1 << 16;
+    private static final int BATCH = 16;
+
+    public PullIntoTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void multicast_share_written_values_between_subscribers() {
+        final var swarm = new Swarm<>(new PullInto<>(null, ERROR, () -> naturals(5)));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+
+        first.subscription.request(2);
+        second.subscription.request(Long.MAX_VALUE);
+        first.subscription.request(Long.MAX_VALUE);
+
+        assertThat(first.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(second.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(first.completed).isTrue();
+        assertThat(second.completed).isTrue();
+    }
+
+    @Test
+    void error_when_puller_write_more_values_than_requested() {
+        final var subscriber = new Recorder();
+        new Swarm<>(new PullInto<Long>(0, ERROR, () -> (n, sink) -> {
+            for (long value = 0; value <= n; ++value) {
+                sink.onValue(value);
+            }
+        })).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.values).containsExactly(0L, 1L);
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void pull_into_allocate_less_per_value_than_pull() {
+        final var pullInto = allocatedPerValue(() -> new Swarm<>(new PullInto<Long>(0, ERROR, () -> (n, sink) -> {
+            for (long index = 0; index < n && !sink.isCancelled(); ++index) {
+                sink.onValue(VALUE);
+            }
+        })));
+        final var pull = allocatedPerValue(() -> new Swarm<>(new Pull<Long>(0, ERROR, () -> n ->
+                Stream.<Signal<Long>>generate(() -> new Signal.Value<>(VALUE)).limit(n))));
+
+        System.err.printf("Bytes allocated per value: pull into %.1f, pull %.1f%n", pullInto, pull);
+        assertThat(pullInto).isLessThan(pull / 4);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return new Swarm<>(new PullInto<>(0, ERROR, () -> naturals(elements)));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)));
+    }
+
+    private static Puller<Long> naturals(long elements) {
+        return new Puller<>() {
+            private long next;
+
+            @Override
+            public void pull(long n, Sink<? super Long> sink) {
+                for (long index = 0; index < n && next < elements && !sink.isCancelled(); ++index) {
+                    sink.onValue(next++);
+                }
+
+                if (next == elements) {
+                    sink.onComplete();
+                }
+            }
+        };
+    }
+
+    private static double allocatedPerValue(Supplier<Publisher<Long>> publisher) {
+        final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final var thread = Thread.currentThread().threadId();
+        var allocated = 0L;
+
+        // NOTE: Only the last round counts, earlier ones warm the JIT up
+        for (int round = 0; round < 3; ++round) {
+            final var before = threads.getThreadAllocatedBytes(thread);
+
+            publisher.get().subscribe(new Subscriber<>() {
+                private Subscription subscription;
+                private int received;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(BATCH);
+                }
+
+                @Override
+                public void onNext(Long item) {
+                    if (VALUES == ++received) {
+                        subscription.cancel();
+                    } else if (0 == received % BATCH) {
+                        subscription.request(BATCH);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+
+            allocated = threads.getThreadAllocatedBytes(thread) - before;
+        }
+
+        return (double) allocated / VALUES;
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
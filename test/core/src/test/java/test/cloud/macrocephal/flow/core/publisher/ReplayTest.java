@@ -0,0 +1,155 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.LagStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Replay;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.ERROR;
+import static java.lang.Long.MAX_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class ReplayTest {
+    @Test
+    void replay_require_a_positive_size_and_age() {
+        assertThrows(IllegalArgumentException.class, () -> new Replay(0));
+        assertThrows(IllegalArgumentException.class, () -> new Replay(Duration.ZERO));
+    }
+
+    @Test
+    void late_subscribers_get_the_replay_then_live_values() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new Push<Long>(false, 2, ERROR, target::set).withReplay(new Replay(3)));
+        final var early = new Recorder();
+        swarm.subscribe(early);
+        early.subscription.request(MAX_VALUE);
+        push(target, 0, 5);
+
+        final var late = new Recorder();
+        swarm.subscribe(late);
+        late.subscription.request(MAX_VALUE);
+        push(target, 5, 7);
+
+        assertThat(early.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(early.error).isNull();
+        assertThat(late.values).containsExactly(2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void values_kept_for_replay_do_not_count_toward_capacity() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new Push<Long>(false, 2, ERROR, target::set).withReplay(new Replay(3)));
+        final var early = new Recorder();
+        swarm.subscribe(early);
+        early.subscription.request(MAX_VALUE);
+        push(target, 0, 5);
+
+        final var late = new Recorder();
+        swarm.subscribe(late);
+        push(target, 5, 6);
+        late.subscription.request(MAX_VALUE);
+
+        assertThat(early.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+        assertThat(early.error).isNull();
+        assertThat(late.values).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(late.error).isNull();
+    }
+
+    @Test
+    void subscribers_arriving_after_completion_get_the_replay_then_complete() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new Push<Long>(false, 2, ERROR, target::set).withReplay(new Replay(3)));
+        final var early = new Recorder();
+        swarm.subscribe(early);
+        early.subscription.request(MAX_VALUE);
+        push(target, 0, 5);
+        target.get().accept(new Signal.Complete<>(), null);
+
+        final var late = new Recorder();
+        swarm.subscribe(late);
+        assertThat(late.completed).isFalse();
+
+        late.subscription.request(2);
+        assertThat(late.values).containsExactly(2L, 3L);
+        assertThat(late.completed).isFalse();
+
+        late.subscription.request(1);
+        assertThat(late.values).containsExactly(2L, 3L, 4L);
+        assertThat(late.completed).isTrue();
+    }
+
+    @Test
+    void late_subscribers_share_pulled_values_without_pulling_them_again() {
+        final var pulls = new ArrayList<Long>();
+        final var swarm = new Swarm<>(new PullInto<Long>(8, LagStrategy.ERROR, null, new Replay(2), () -> {
+            final var next = new long[1];
+            return (n, sink) -> {
+                pulls.add(n);
+
+                for (long index = 0; index < n && !sink.isCancelled(); ++index) {
+                    sink.onValue(next[0]++);
+                }
+            };
+        }));
+        final var early = new Recorder();
+        swarm.subscribe(early);
+        early.subscription.request(5);
+
+        final var late = new Recorder();
+        swarm.subscribe(late);
+        late.subscription.request(3);
+        early.subscription.request(1);
+
+        assertThat(early.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+        assertThat(late.values).containsExactly(3L, 4L, 5L);
+        assertThat(pulls).containsExactly(5L, 1L);
+    }
+
+    private static void push(AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>> target,
+                             long from,
+                             long to) {
+        for (long value = from; value < to; ++value) {
+            target.get().accept(new Signal.Value<>(value), null);
+        }
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Single;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.operator.Operator.map;
+import static cloud.macrocephal.flow.core.operator.Operator.nth;
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleTest extends FlowPublisherVerification<Long> {
+    private static final int SUBSCRIPTIONS = 200_000;
+
+    public SingleTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void map_scalar_within_one_call_on_first_request() {
+        final var calls = new AtomicInteger();
+        final var recorder = new Recorder();
+        Single.fromCallable(() -> calls.incrementAndGet() * 10L)
+                .pipe(map((Long value) -> value + 1))
+                .pipe(map((Long value) -> value * 2))
+                .subscribe(recorder);
+
+        assertThat(calls).hasValue(0);
+        recorder.subscription.request(1);
+        assertThat(calls).hasValue(1);
+        assertThat(recorder.values).containsExactly(22L);
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    void complete_without_value_when_callable_return_null() {
+        final var recorder = new Recorder();
+        Single.<Long>fromCallable(() -> null).subscribe(recorder);
+        recorder.subscription.request(1);
+
+        assertThat(recorder.values).isEmpty();
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    void signal_null_pointer_exception_when_a_map_returns_null() {
+        final var recorder = new Recorder();
+        Single.of(1L).pipe(map((Long ignored) -> (Long) null)).subscribe(recorder);
+        recorder.subscription.request(1);
+
+        assertThat(recorder.values).isEmpty();
+        assertThat(recorder.completed).isFalse();
+        assertThat(recorder.error).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void emit_at_most_one_value_from_any_source() {
+        final var demands = new CopyOnWriteArrayList<Long>();
+        final var recorder = new Recorder();
+        new Swarm<>(new Pull<Long>(0, ERROR, () -> {
+            final var pulled = new AtomicLong();
+            return n -> {
+                demands.add(n);
+                return Stream.<Signal<Long>>generate(() -> new Signal.Value<>(pulled.getAndIncrement())).limit(n);
+            };
+        })).pipe(nth(BigInteger.valueOf(3))).subscribe(recorder);
+        recorder.subscription.request(5);
+
+        assertThat(recorder.values).containsExactly(2L);
+        assertThat(recorder.completed).isTrue();
+        assertThat(demands).containsExactly(3L);
+    }
+
+    @Test
+    void scalar_allocate_less_per_subscription_than_pull_strategy() {
+        final var scalar = allocatedPerSubscription(() -> Single.of(42L));
+        final var pull = allocatedPerSubscription(() -> new Single<>(new Pull<Long>(0, ERROR, () -> ignored ->
+                Stream.of(new Signal.Value<>(42L), new Signal.Complete<>()))));
+
+        System.err.printf("Bytes allocated per subscription: scalar %.1f, pull %.1f%n", scalar, pull);
+        assertThat(scalar).isLessThan(pull / 4);
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1;
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return 0 == elements ? Single.empty() : Single.of(elements);
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Single<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)));
+    }
+
+    private static double allocatedPerSubscription(Supplier<Single<Long>> single) {
+        final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final var thread = Thread.currentThread().threadId();
+        var allocated = 0L;
+
+        // NOTE: Only the last round counts, earlier ones warm the JIT up
+        for (int round = 0; round < 3; ++round) {
+            final var before = threads.getThreadAllocatedBytes(thread);
+
+            for (int index = 0; index < SUBSCRIPTIONS; ++index) {
+                single.get().subscribe(new Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(Long item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+            }
+
+            allocated = threads.getThreadAllocatedBytes(thread) - before;
+        }
+
+        return (double) allocated / SUBSCRIPTIONS;
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
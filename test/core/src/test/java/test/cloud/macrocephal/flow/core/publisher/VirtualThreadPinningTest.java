@@ -0,0 +1,164 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.operator.Operator;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Pull;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscribers run on virtual threads and block in {@link Subscriber#onNext(Object)}: a publisher holding a monitor
+ * at that point pins the carrier thread, which JFR reports as {@code jdk.VirtualThreadPinned}.
+ */
+public class VirtualThreadPinningTest {
+    private static final int SUBSCRIBERS = 1_000;
+    private static final long VALUES = 8;
+
+    @Test
+    void unicast_pull_do_not_pin_carrier_threads() throws Exception {
+        assertNoPinning(() -> new Swarm<>(new Pull<>(0, ERROR, VirtualThreadPinningTest::puller)), 1);
+    }
+
+    @Test
+    void multicast_pull_do_not_pin_carrier_threads() throws Exception {
+        final var swarm = new Swarm<>(new Pull<>(null, ERROR, VirtualThreadPinningTest::puller));
+        assertNoPinning(() -> swarm, 1);
+    }
+
+    @Test
+    void unicast_push_do_not_pin_carrier_threads() throws Exception {
+        assertNoPinning(() -> new Swarm<>(new Push<Long>(true, 0, PAUSE, target -> Thread.ofVirtual().start(() -> {
+            for (long value = 0; value < VALUES; ++value) {
+                target.accept(new Signal.Value<>(value), null);
+            }
+
+            target.accept(new Signal.Complete<>(), null);
+        }))), MAX_VALUE);
+    }
+
+    @Test
+    void multicast_push_do_not_pin_carrier_threads() throws Exception {
+        assertNoPinning(() -> new Swarm<>(new Push<Long>(false, null, PAUSE, target -> {
+            for (long value = 0; value < VALUES; ++value) {
+                target.accept(new Signal.Value<>(value), null);
+            }
+
+            target.accept(new Signal.Complete<>(), null);
+        })), 1);
+    }
+
+    @Test
+    void flat_map_do_not_pin_carrier_threads() throws Exception {
+        assertNoPinning(() -> Swarm.of(List.of(1L, 2L)).pipe(Operator.<Long, Long>flatMap(ignored ->
+                new Swarm<>(new Pull<>(0, ERROR, VirtualThreadPinningTest::puller)))), MAX_VALUE);
+    }
+
+    private static LongFunction<Stream<Signal<Long>>> puller() {
+        final var pulled = new AtomicLong();
+        return n -> {
+            final var from = pulled.get();
+            final var to = VALUES - from <= n ? VALUES : from + n;
+            pulled.set(to);
+            return Stream.concat(
+                    LongStream.range(from, to).mapToObj(Signal.Value::new),
+                    Stream.<Signal<Long>>of(new Signal.Complete<>()).filter(ignored -> VALUES == to));
+        };
+    }
+
+    private static void assertNoPinning(Supplier<Publisher<Long>> publisher, long batch) throws Exception {
+        try (final var recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            final var terminated = new CountDownLatch(SUBSCRIBERS);
+            for (int index = 0; index < SUBSCRIBERS; ++index) {
+                Thread.ofVirtual().start(() -> publisher.get().subscribe(new BlockingSubscriber(batch, terminated)));
+            }
+
+            assertThat(terminated.await(60, SECONDS)).isTrue();
+            recording.stop();
+            assertThat(pinnedInFlow(recording)).isEmpty();
+        }
+    }
+
+    private static List<RecordedEvent> pinnedInFlow(Recording recording) throws IOException {
+        final var file = Files.createTempFile(VirtualThreadPinningTest.class.getSimpleName(), ".jfr");
+
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> "jdk.VirtualThreadPinned".equals(event.getEventType().getName()))
+                    .filter(event -> nonNull(event.getStackTrace()) && event.getStackTrace().getFrames().stream()
+                            .anyMatch(frame -> frame.getMethod().getType().getName()
+                                    .startsWith("cloud.macrocephal.flow.")))
+                    .toList();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static final class BlockingSubscriber implements Subscriber<Long> {
+        private final CountDownLatch terminated;
+        private final long batch;
+        private Subscription subscription;
+
+        private BlockingSubscriber(long batch, CountDownLatch terminated) {
+            this.terminated = terminated;
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (MAX_VALUE != batch) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
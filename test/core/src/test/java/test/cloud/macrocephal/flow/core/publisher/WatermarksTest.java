@@ -0,0 +1,161 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.multicast.MulticastPushPublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.internal.strategy.unicast.UnicastPushPublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Watermarks;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class WatermarksTest {
+    @Test
+    void watermarks_require_low_below_high() {
+        assertThrows(IllegalArgumentException.class, () -> new Watermarks(4, 4));
+        assertThrows(IllegalArgumentException.class, () -> new Watermarks(-1, 4));
+    }
+
+    @Test
+    void multicast_pause_at_high_mark_and_resume_at_low_mark() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var feedback = new Feedback();
+        final var subscriber = new Recorder();
+        final var strategy = new MulticastPushPublisherStrategy<>(
+                new Push<Long>(false, 8, PAUSE, target::set).withWatermarks(new Watermarks(2, 6)));
+        strategy.subscribe(subscriber);
+
+        for (long value = 0; value < 9; ++value) {
+            target.get().accept(new Signal.Value<>(value), feedback);
+        }
+
+        // NOTE: The last value overflows capacity while paused already
+        assertThat(feedback.toggles).containsExactly("pause");
+
+        subscriber.subscription.request(5);
+        assertThat(feedback.toggles).containsExactly("pause");
+
+        subscriber.subscription.request(1);
+        assertThat(feedback.toggles).containsExactly("pause", "resume");
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+        assertThat(strategy.pauses()).isEqualTo(1);
+        assertThat(strategy.resumes()).isEqualTo(1);
+    }
+
+    @Test
+    void unicast_resume_on_demand_when_no_value_waits() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var feedback = new Feedback();
+        final var subscriber = new Recorder();
+        final var strategy = new UnicastPushPublisherStrategy<>(
+                new Push<Long>(false, 0, PAUSE, target::set).withWatermarks(new Watermarks(0, 4)));
+        strategy.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        target.get().accept(new Signal.Value<>(0L), feedback);
+        target.get().accept(new Signal.Value<>(1L), feedback);
+        target.get().accept(new Signal.Value<>(1L), feedback);
+        assertThat(feedback.toggles).containsExactly("pause");
+
+        subscriber.subscription.request(1);
+        assertThat(feedback.toggles).containsExactly("pause", "resume");
+
+        target.get().accept(new Signal.Value<>(2L), feedback);
+        target.get().accept(new Signal.Value<>(3L), feedback);
+        subscriber.subscription.request(1);
+        assertThat(subscriber.values).containsExactly(0L, 2L);
+        assertThat(feedback.toggles).containsExactly("pause", "resume", "pause", "resume");
+        assertThat(strategy.pauses()).isEqualTo(2);
+        assertThat(strategy.resumes()).isEqualTo(2);
+    }
+
+    @Test
+    void unicast_pause_at_high_mark_and_resume_at_low_mark() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var toggles = new ArrayList<List<String>>();
+        final var feedback = new Feedback();
+        final var subscriber = new Recorder(value -> {
+            // NOTE: Values pushed while the subscriber is busy with the first one wait for it
+            for (long next = 1; 0 == value && next < 5; ++next) {
+                target.get().accept(new Signal.Value<>(next), feedback);
+            }
+
+            toggles.add(List.copyOf(feedback.toggles));
+        });
+        final var strategy = new UnicastPushPublisherStrategy<>(
+                new Push<Long>(false, 0, PAUSE, target::set).withWatermarks(new Watermarks(1, 3)));
+        strategy.subscribe(subscriber);
+        subscriber.subscription.request(8);
+        target.get().accept(new Signal.Value<>(0L), feedback);
+
+        assertThat(subscriber.values).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(toggles).containsExactly(List.of("pause"), List.of("pause"), List.of("pause"), List.of("pause"),
+                List.of("pause", "resume"));
+        assertThat(strategy.pauses()).isEqualTo(1);
+        assertThat(strategy.resumes()).isEqualTo(1);
+    }
+
+    private static final class Feedback implements BackPressureFeedback {
+        private final List<String> toggles = new ArrayList<>();
+
+        @Override
+        public void resume() {
+            toggles.add("resume");
+        }
+
+        @Override
+        public void pause() {
+            toggles.add("pause");
+        }
+
+        @Override
+        public void stop() {
+            toggles.add("stop");
+        }
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private final LongConsumer next;
+        private Subscription subscription;
+
+        private Recorder() {
+            this(ignored -> {
+            });
+        }
+
+        private Recorder(LongConsumer next) {
+            this.next = next;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+            next.accept(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package test.cloud.macrocephal.flow.core.publisher;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.DispatchStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.PullInto;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Puller;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Sink;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.WorkQueue;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy.PAUSE;
+import static cloud.macrocephal.flow.core.publisher.strategy.LagStrategy.ERROR;
+import static java.lang.Long.MAX_VALUE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class WorkQueueTest extends FlowPublisherVerification<Long> {
+    private static final Scheduler IMMEDIATE = Scheduler.immediate();
+
+    public WorkQueueTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Test
+    void key_hash_require_a_key() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new WorkQueue<>(new PullInto<>(0, ERROR, () -> naturals(1)), DispatchStrategy.KEY_HASH));
+    }
+
+    @Test
+    void round_robin_hand_each_value_to_one_worker_in_turn() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new WorkQueue<>(new Push<Long>(false, 0, PAUSE, target::set))
+                .withScheduler(IMMEDIATE));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+        first.subscription.request(MAX_VALUE);
+        second.subscription.request(MAX_VALUE);
+
+        push(target, 6);
+
+        assertThat(first.values).containsExactly(0L, 2L, 4L);
+        assertThat(second.values).containsExactly(1L, 3L, 5L);
+        assertThat(first.completed).isTrue();
+        assertThat(second.completed).isTrue();
+    }
+
+    @Test
+    void respect_each_worker_demand() {
+        final var swarm = new Swarm<>(new WorkQueue<>(new PullInto<>(0, ERROR, () -> naturals(MAX_VALUE)))
+                .withScheduler(IMMEDIATE));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+
+        first.subscription.request(1);
+        second.subscription.request(3);
+
+        assertThat(first.values).hasSize(1);
+        assertThat(second.values).hasSize(3);
+        assertThat(first.values).doesNotContainAnyElementsOf(second.values);
+    }
+
+    @Test
+    void least_loaded_favour_the_worker_with_the_most_demand_left() {
+        final var swarm = new Swarm<>(new WorkQueue<>(new PullInto<>(0, ERROR, () -> naturals(MAX_VALUE)),
+                DispatchStrategy.LEAST_LOADED).withScheduler(IMMEDIATE));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+        first.subscription.request(1);
+
+        second.subscription.request(3);
+
+        assertThat(first.values).hasSize(1);
+        assertThat(second.values).hasSize(3);
+    }
+
+    @Test
+    void key_hash_hand_equal_keys_to_the_same_worker() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new WorkQueue<>(new Push<Long>(false, 0, PAUSE, target::set),
+                (Long value) -> value % 2).withScheduler(IMMEDIATE));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+        first.subscription.request(MAX_VALUE);
+        second.subscription.request(MAX_VALUE);
+
+        push(target, 8);
+
+        assertThat(first.values).containsExactly(0L, 2L, 4L, 6L);
+        assertThat(second.values).containsExactly(1L, 3L, 5L, 7L);
+    }
+
+    @Test
+    void values_queued_for_a_cancelled_worker_go_to_others() {
+        final var swarm = new Swarm<>(new WorkQueue<>(new PullInto<>(0, ERROR, () -> naturals(4)),
+                (Long value) -> value % 2).withScheduler(IMMEDIATE));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+
+        first.subscription.request(4);
+        second.subscription.cancel();
+
+        assertThat(first.values).containsExactly(0L, 2L, 1L, 3L);
+        assertThat(first.completed).isTrue();
+    }
+
+    @Test
+    void key_hash_signal_an_error_when_a_key_throws() {
+        final var failure = new IllegalStateException("Boom!");
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new WorkQueue<>(new Push<Long>(false, 0, PAUSE, target::set),
+                (Long value) -> {
+                    if (1 == value) {
+                        throw failure;
+                    }
+
+                    return value;
+                }).withScheduler(IMMEDIATE));
+        final var first = new Recorder();
+        final var second = new Recorder();
+        swarm.subscribe(first);
+        swarm.subscribe(second);
+        first.subscription.request(MAX_VALUE);
+        second.subscription.request(MAX_VALUE);
+
+        push(target, 3);
+
+        assertThat(first.values).containsExactly(0L);
+        assertThat(first.error).isSameAs(failure);
+        assertThat(second.values).isEmpty();
+        assertThat(second.error).isSameAs(failure);
+    }
+
+    @Test
+    void deliver_to_workers_concurrently() throws InterruptedException {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new WorkQueue<>(new Push<Long>(false, 0, PAUSE, target::set))
+                .withScheduler(Scheduler.virtualThreads()));
+        final var entered = new CountDownLatch(2);
+        final var completed = new CountDownLatch(2);
+        final var overlapped = new CopyOnWriteArrayList<Boolean>();
+
+        for (int index = 0; index < 2; ++index) {
+            swarm.subscribe(new Subscriber<Long>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.request(MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(Long item) {
+                    entered.countDown();
+
+                    // NOTE: Only returns true if the other worker is blocked in its own onNext meanwhile
+                    try {
+                        overlapped.add(entered.await(5, SECONDS));
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+        }
+
+        push(target, 2);
+
+        assertThat(completed.await(10, SECONDS)).isTrue();
+        assertThat(overlapped).containsExactly(true, true);
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long elements) {
+        return new Swarm<>(new WorkQueue<>(new PullInto<>(0, ERROR, () -> naturals(elements))));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new WorkQueue<>(new Push<Long>(false, 0, PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null))));
+    }
+
+    /**
+     * Push values from zero on, then completion.
+     */
+    private static void push(AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>> target, long values) {
+        for (long value = 0; value < values; ++value) {
+            target.get().accept(new Signal.Value<>(value), null);
+        }
+
+        target.get().accept(new Signal.Complete<>(), null);
+    }
+
+    private static Puller<Long> naturals(long elements) {
+        return new Puller<>() {
+            private long next;
+
+            @Override
+            public void pull(long n, Sink<? super Long> sink) {
+                for (long index = 0; index < n && next < elements && !sink.isCancelled(); ++index) {
+                    sink.onValue(next++);
+                }
+
+                if (next == elements) {
+                    sink.onComplete();
+                }
+            }
+        };
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
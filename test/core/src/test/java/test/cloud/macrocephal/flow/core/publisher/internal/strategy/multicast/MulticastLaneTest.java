@@ -0,0 +1,212 @@
+package test.cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
+
+import cloud.macrocephal.flow.core.Signal;
+import cloud.macrocephal.flow.core.Signal.Value;
+import cloud.macrocephal.flow.core.exception.BackPressureException;
+import cloud.macrocephal.flow.core.publisher.Swarm;
+import cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
+import cloud.macrocephal.flow.core.scheduler.Scheduler;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MulticastLaneTest extends FlowPublisherVerification<Long> {
+    private static final Scheduler SCHEDULER = Scheduler.virtualThreads();
+
+    public MulticastLaneTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeMethod
+    void beforeMethod(Method method) {
+        System.err.println(">>> " + getClass() + '#' + method.getName());
+    }
+
+    @Override
+    public Publisher<Long> createFlowPublisher(long limit) {
+        return new Swarm<>(new Push<Long>(true, 4, BackPressureStrategy.PAUSE, target -> {
+            final var paused = new AtomicBoolean();
+            final var stopped = new AtomicBoolean();
+            final var theLimit = new AtomicLong(limit);
+            final var backPressureFeedback = new PublisherStrategy.BackPressureFeedback() {
+                @Override
+                public void resume() {
+                    paused.set(false);
+                }
+
+                @Override
+                public void pause() {
+                    if (!paused.get()) {
+                        theLimit.updateAndGet(value -> value + 1);
+                        paused.set(true);
+                    }
+                }
+
+                @Override
+                public void stop() {
+                    stopped.set(true);
+                }
+            };
+            new Thread(() -> {
+                for (long value = 0; !stopped.get() && 0 < theLimit.get(); ) {
+                    if (!paused.get() && 0 < theLimit.getAndUpdate(left -> left - 1)) {
+                        target.accept(new Value<>(value++), backPressureFeedback);
+                    } else {
+                        Thread.yield();
+                    }
+                }
+
+                if (!stopped.get()) {
+                    target.accept(new Signal.Complete<>(), backPressureFeedback);
+                }
+            }).start();
+        }).withScheduler(SCHEDULER));
+    }
+
+    @Override
+    public Publisher<Long> createFailedFlowPublisher() {
+        return new Swarm<>(new Push<Long>(false, 4, BackPressureStrategy.PAUSE, target ->
+                target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null)).withScheduler(SCHEDULER));
+    }
+
+    @Test
+    void slow_subscriber_do_not_hold_back_others_when_dropping() throws InterruptedException {
+        final var released = new CountDownLatch(1);
+        final var slow = new Recorder(released);
+        final var fast = new Recorder(null);
+        swarm(BackPressureStrategy.DROP, slow, fast);
+
+        assertThat(fast.terminated.await(10, SECONDS)).isTrue();
+        assertThat(fast.values).containsExactlyElementsOf(LongStream.range(0, 64).boxed().toList());
+        assertThat(fast.error.get()).isNull();
+
+        released.countDown();
+        assertThat(slow.terminated.await(10, SECONDS)).isTrue();
+        assertThat(slow.values).hasSizeLessThan(64).startsWith(0L);
+        assertThat(slow.error.get()).isNull();
+    }
+
+    @Test
+    void slow_subscriber_alone_error_when_its_lane_is_full() throws InterruptedException {
+        final var released = new CountDownLatch(1);
+        final var slow = new Recorder(released);
+        final var fast = new Recorder(null);
+        swarm(BackPressureStrategy.ERROR, slow, fast);
+
+        assertThat(fast.terminated.await(10, SECONDS)).isTrue();
+        assertThat(fast.values).hasSize(64);
+        assertThat(fast.error.get()).isNull();
+
+        released.countDown();
+        assertThat(slow.terminated.await(10, SECONDS)).isTrue();
+        assertThat(slow.error.get()).isInstanceOf(BackPressureException.class);
+    }
+
+    @Test
+    void slow_subscriber_alone_error_when_its_lane_is_full_and_overflows_throw() throws InterruptedException {
+        final var released = new CountDownLatch(1);
+        final var slow = new Recorder(released);
+        final var fast = new Recorder(null);
+        swarm(BackPressureStrategy.THROW, slow, fast);
+
+        assertThat(fast.terminated.await(10, SECONDS)).isTrue();
+        assertThat(fast.values).hasSize(64);
+        assertThat(fast.error.get()).isNull();
+
+        released.countDown();
+        assertThat(slow.terminated.await(10, SECONDS)).isTrue();
+        assertThat(slow.error.get()).isInstanceOf(BackPressureException.class);
+    }
+
+    /**
+     * Push 64 values, each once {@code fast} received the previous one, so that only {@code slow} ever lags.
+     */
+    private static void swarm(BackPressureStrategy backPressureStrategy, Recorder slow, Recorder fast) {
+        final var subscribed = new CountDownLatch(2);
+        final var swarm = new Swarm<>(new Push<Long>(true, 4, backPressureStrategy, target -> {
+            new Thread(() -> {
+                try {
+                    subscribed.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+
+                for (long value = 0; value < 64; ++value) {
+                    target.accept(new Value<>(value), null);
+
+                    while (fast.values.size() <= value) {
+                        Thread.yield();
+                    }
+                }
+
+                target.accept(new Signal.Complete<>(), null);
+            }).start();
+        }).withScheduler(SCHEDULER));
+
+        for (final var subscriber : List.of(slow, fast)) {
+            swarm.subscribe(subscriber);
+            subscribed.countDown();
+        }
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private final Queue<Long> values = new ConcurrentLinkedQueue<>();
+        private final AtomicLong calls = new AtomicLong();
+        private final CountDownLatch released;
+
+        private Recorder(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            if (null != released && 0 == calls.getAndIncrement()) {
+                try {
+                    released.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
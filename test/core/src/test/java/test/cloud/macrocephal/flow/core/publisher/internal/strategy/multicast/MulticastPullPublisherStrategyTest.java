@@ -41,7 +41,7 @@ public class MulticastPullPublisherStrategyTest extends FlowPublisherVerificatio
     @Override
     public Publisher<UUID> createFlowPublisher(long limit) {
         final var limit$ = Long.MAX_VALUE == limit ? null : new AtomicLong(limit);
-        return new Swarm<>(new Pull<>(-1, LagStrategy.THROW, () ->
+        return new Swarm<>(new Pull<>(null, LagStrategy.THROW, () ->
                 request -> stream(new AbstractSpliterator<>(max(0, min(limit, request)), ORDERED) {
                     private long counter = isNull(limit$) ? request : min(request, limit$.get());
 
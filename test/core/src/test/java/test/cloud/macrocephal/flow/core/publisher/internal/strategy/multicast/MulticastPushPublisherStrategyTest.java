@@ -2,21 +2,32 @@ package test.cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
 
 import cloud.macrocephal.flow.core.Signal;
 import cloud.macrocephal.flow.core.Signal.Value;
+import cloud.macrocephal.flow.core.exception.BackPressureException;
 import cloud.macrocephal.flow.core.publisher.Swarm;
 import cloud.macrocephal.flow.core.publisher.strategy.BackPressureStrategy;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy;
+import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.BackPressureFeedback;
 import cloud.macrocephal.flow.core.publisher.strategy.PublisherStrategy.Push;
 import org.reactivestreams.tck.TestEnvironment;
 import org.reactivestreams.tck.flow.FlowPublisherVerification;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
 
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
 
 public class MulticastPushPublisherStrategyTest extends FlowPublisherVerification<UUID> {
     public MulticastPushPublisherStrategyTest() {
@@ -74,4 +85,46 @@ public class MulticastPushPublisherStrategyTest extends FlowPublisherVerificatio
             target.accept(new Signal.Error<>(new RuntimeException("Boom!")), null);
         }));
     }
+
+    @Test
+    void throw_overflows_at_the_producer_and_error_subscribers() {
+        final var target = new AtomicReference<BiConsumer<Signal<Long>, BackPressureFeedback>>();
+        final var swarm = new Swarm<>(new Push<Long>(false, 2, BackPressureStrategy.THROW, target::set));
+        final var recorder = new Recorder();
+        swarm.subscribe(recorder);
+        target.get().accept(new Value<>(0L), null);
+        target.get().accept(new Value<>(1L), null);
+
+        assertThrows(BackPressureException.class, () -> target.get().accept(new Value<>(2L), null));
+        assertThat(recorder.error).isNull();
+
+        recorder.subscription.request(2);
+        assertThat(recorder.values).containsExactly(0L, 1L);
+        assertThat(recorder.error).isInstanceOf(BackPressureException.class);
+    }
+
+    private static final class Recorder implements Subscriber<Long> {
+        private final List<Long> values = new CopyOnWriteArrayList<>();
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
 }
@@ -0,0 +1,207 @@
+package test.cloud.macrocephal.flow.core.publisher.internal.strategy.multicast;
+
+import cloud.macrocephal.flow.core.publisher.internal.strategy.multicast.MulticastRing;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertThrows;
+
+public class MulticastRingTest {
+    @Test
+    void publish_return_monotonically_increasing_sequences() {
+        final var ring = new MulticastRing<String>();
+        assertThat(ring.publish("A")).isEqualTo(0);
+        assertThat(ring.publish("B")).isEqualTo(1);
+        assertThat(ring.get(0)).isEqualTo("A");
+        assertThat(ring.get(1)).isEqualTo("B");
+        assertThat(ring.size()).isEqualTo(2);
+    }
+
+    @Test
+    void release_forget_values_below_sequence() {
+        final var ring = new MulticastRing<Integer>();
+        for (int value = 0; value < 10; ++value) {
+            ring.publish(value);
+        }
+
+        ring.release(7);
+        assertThat(ring.head()).isEqualTo(7);
+        assertThat(ring.size()).isEqualTo(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.get(6));
+        assertThat(ring.get(7)).isEqualTo(7);
+    }
+
+    @Test
+    void release_never_move_head_backward_nor_past_tail() {
+        final var ring = new MulticastRing<Integer>();
+        ring.publish(0);
+        ring.publish(1);
+        ring.release(1);
+        ring.release(0);
+        assertThat(ring.head()).isEqualTo(1);
+        ring.release(42);
+        assertThat(ring.head()).isEqualTo(ring.tail());
+    }
+
+    @Test
+    void publish_grow_while_keeping_sequences_after_wrap_around() {
+        final var ring = new MulticastRing<Long>();
+        for (long value = 0; value < 24; ++value) {
+            ring.publish(value);
+        }
+
+        ring.release(20);
+
+        for (long value = 24; value < 100; ++value) {
+            ring.publish(value);
+        }
+
+        for (long sequence = ring.head(); sequence < ring.tail(); ++sequence) {
+            assertThat(ring.get(sequence)).isEqualTo(sequence);
+        }
+    }
+
+    @Test
+    void advance_release_head_once_every_reader_read_it() {
+        final var ring = new MulticastRing<Integer>();
+        final var first = ring.join();
+        final var second = ring.join();
+        ring.publish(0);
+        ring.publish(1);
+
+        ring.advance(first);
+        assertThat(ring.head()).isEqualTo(0);
+        ring.advance(second);
+        assertThat(ring.head()).isEqualTo(1);
+        ring.advance(first + 1);
+        assertThat(ring.head()).isEqualTo(1);
+        ring.advance(second + 1);
+        assertThat(ring.head()).isEqualTo(2);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void leave_release_values_only_the_leaving_reader_held() {
+        final var ring = new MulticastRing<Integer>();
+        final var slow = ring.join();
+        ring.publish(0);
+        final var fast = ring.join();
+        ring.publish(1);
+        ring.publish(2);
+        ring.advance(fast);
+
+        ring.leave(slow);
+        assertThat(ring.head()).isEqualTo(2);
+        assertThat(ring.get(2)).isEqualTo(2);
+        ring.leave(fast + 1);
+        assertThat(ring.head()).isEqualTo(ring.tail());
+    }
+
+    @Test
+    void leave_of_caught_up_readers_keep_heads_in_place() {
+        final var ring = new MulticastRing<Integer>();
+        final var slow = ring.join();
+        ring.publish(0);
+        final var caughtUp = ring.join();
+
+        ring.leave(caughtUp);
+        assertThat(ring.head()).isEqualTo(slow);
+        ring.publish(1);
+        ring.advance(slow);
+        assertThat(ring.head()).isEqualTo(1);
+        ring.advance(slow + 1);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void release_unread_forget_values_published_without_readers() {
+        final var ring = new MulticastRing<Integer>();
+        ring.publish(0);
+        ring.publish(1);
+        ring.releaseUnread();
+        assertThat(ring.head()).isEqualTo(2);
+    }
+
+    @Test
+    void leave_of_many_readers_keep_counts_after_growing() {
+        final var ring = new MulticastRing<Integer>();
+        final var readers = new long[1_000];
+        for (int index = 0; index < readers.length; ++index) {
+            readers[index] = ring.join();
+            ring.publish(index);
+        }
+
+        for (int index = readers.length - 1; 0 < index; --index) {
+            ring.leave(readers[index]);
+            assertThat(ring.head()).isZero();
+        }
+
+        ring.leave(readers[0]);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void replay_start_new_readers_at_the_last_values_kept() {
+        final var ring = new MulticastRing<Integer>(3, null);
+        for (int value = 0; value < 10; ++value) {
+            ring.publish(value);
+            ring.releaseUnread();
+        }
+
+        assertThat(ring.size()).isZero();
+
+        final var late = ring.replay();
+        assertThat(late).isEqualTo(7);
+        assertThat(ring.get(late)).isEqualTo(7);
+        assertThat(ring.size()).isZero();
+
+        ring.advance(late);
+        ring.advance(late + 1);
+        ring.advance(late + 2);
+        assertThat(ring.size()).isZero();
+        assertThat(ring.replay()).isEqualTo(7);
+    }
+
+    @Test
+    void replay_count_values_kept_only_once_held_past_them() {
+        final var ring = new MulticastRing<Integer>(3, null);
+        for (int value = 0; value < 10; ++value) {
+            ring.publish(value);
+            ring.releaseUnread();
+        }
+
+        final var late = ring.replay();
+        ring.publish(10);
+        ring.releaseUnread();
+        assertThat(ring.head()).isEqualTo(late);
+        assertThat(ring.size()).isEqualTo(4);
+
+        ring.advance(late);
+        assertThat(ring.size()).isZero();
+        assertThat(ring.get(late + 1)).isEqualTo(8);
+    }
+
+    @Test
+    void replay_skip_values_older_than_kept() throws InterruptedException {
+        final var ring = new MulticastRing<Integer>(Long.MAX_VALUE, Duration.ofMillis(1));
+        ring.publish(0);
+        ring.releaseUnread();
+        Thread.sleep(10);
+        ring.publish(1);
+        ring.releaseUnread();
+
+        assertThat(ring.replay()).isEqualTo(1);
+    }
+
+    @Test
+    void replay_without_values_kept_join_at_the_tail() {
+        final var ring = new MulticastRing<Integer>();
+        ring.publish(0);
+        ring.releaseUnread();
+
+        assertThat(ring.replay()).isEqualTo(ring.tail());
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.get(0));
+    }
+}